@@ -9,7 +9,9 @@ CREATE DATABASE IF NOT EXISTS seating_db;
 \c seating_db;
 
 -- Drop existing tables if they exist (for clean setup)
+DROP TABLE IF EXISTS report_snapshots CASCADE;
 DROP TABLE IF EXISTS seating_arrangements CASCADE;
+DROP TABLE IF EXISTS arrangement_runs CASCADE;
 DROP TABLE IF EXISTS student_subjects CASCADE;
 DROP TABLE IF EXISTS seats CASCADE;
 DROP TABLE IF EXISTS rooms CASCADE;
@@ -98,28 +100,59 @@ CREATE TABLE seats (
 CREATE INDEX idx_room_seat ON seats(room_id, seat_no);
 CREATE INDEX idx_bench_position ON seats(bench_no, position);
 
+-- =====================================================
+-- Arrangement Runs Table (one row per generated arrangement)
+-- =====================================================
+CREATE TABLE arrangement_runs (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100),
+    session VARCHAR(50),
+    arrangement_date DATE NOT NULL,
+    total_students INTEGER,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_run_date ON arrangement_runs(arrangement_date);
+
 -- =====================================================
 -- Seating Arrangements Table
+-- Partitioned by run: the application creates partition
+-- seating_arrangements_run_<id> for each run and drops it
+-- when the run is deleted.
 -- =====================================================
 CREATE TABLE seating_arrangements (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
+    run_id BIGINT NOT NULL,
     student_id BIGINT NOT NULL,
     room_id BIGINT NOT NULL,
     seat_id BIGINT NOT NULL,
     subject VARCHAR(100) NOT NULL,
-    arrangement_date DATE NOT NULL,
-    arrangement_name VARCHAR(100),
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (run_id, id),
+    CONSTRAINT fk_arrangement_run FOREIGN KEY (run_id) REFERENCES arrangement_runs(id) ON DELETE CASCADE,
     CONSTRAINT fk_arrangement_student FOREIGN KEY (student_id) REFERENCES students(id) ON DELETE CASCADE,
     CONSTRAINT fk_arrangement_room FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE,
     CONSTRAINT fk_arrangement_seat FOREIGN KEY (seat_id) REFERENCES seats(id) ON DELETE CASCADE
-);
+) PARTITION BY LIST (run_id);
 
-CREATE INDEX idx_arrangement_date ON seating_arrangements(arrangement_date);
-CREATE INDEX idx_room_arrangement ON seating_arrangements(room_id, arrangement_date);
+CREATE INDEX idx_arrangement_run ON seating_arrangements(run_id);
+CREATE INDEX idx_room_arrangement ON seating_arrangements(room_id, run_id);
 CREATE INDEX idx_student_arrangement ON seating_arrangements(student_id);
 
+-- =====================================================
+-- Report Snapshots Table (gzipped JSON report views per run)
+-- =====================================================
+CREATE TABLE report_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL UNIQUE,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_snapshot_run FOREIGN KEY (run_id) REFERENCES arrangement_runs(id) ON DELETE CASCADE
+);
+
 -- =====================================================
 -- Sample Data (Optional - for testing)
 -- =====================================================
@@ -190,13 +223,14 @@ END $$;
 --        (SELECT COUNT(*) FROM seats WHERE room_id = r.id AND is_occupied = TRUE) as occupied_seats
 -- FROM rooms r;
 
--- View seating arrangements for a specific date
--- SELECT sa.arrangement_date, r.room_no, s.seat_no, st.roll_no, st.name, sa.subject
+-- View seating arrangements of the latest run
+-- SELECT ar.arrangement_date, ar.session, r.room_no, s.seat_no, st.roll_no, st.name, sa.subject
 -- FROM seating_arrangements sa
+-- JOIN arrangement_runs ar ON sa.run_id = ar.id
 -- JOIN students st ON sa.student_id = st.id
 -- JOIN rooms r ON sa.room_id = r.id
 -- JOIN seats s ON sa.seat_id = s.id
--- WHERE sa.arrangement_date = CURRENT_DATE
+-- WHERE sa.run_id = (SELECT MAX(id) FROM arrangement_runs)
 -- ORDER BY r.room_no, s.bench_no, s.position;
 
 -- =====================================================
@@ -0,0 +1,11 @@
+package com.seating.allocation;
+
+/**
+ * Thrown when a run is stopped because its {@link AllocationMonitor} asked for cancellation
+ */
+public class AllocationCancelledException extends RuntimeException {
+
+    public AllocationCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,160 @@
+package com.seating.allocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, entity-free input for {@link SeatAllocator}.
+ *
+ * Students and seats are referred to by their index in the order they were added, so callers
+ * can map a plan back to their own objects. Subjects are dictionary-encoded to small int ids
+ * in first-seen order.
+ */
+public final class AllocationInput {
+
+    public static final byte POSITION_R = 0;
+    public static final byte POSITION_M = 1;
+    public static final byte POSITION_L = 2;
+
+    private final String[] subjects;
+    private final int[] studentSubject;
+    private final int[] roomStart;
+    private final int[] seatBench;
+    private final byte[] seatPosition;
+
+    private AllocationInput(String[] subjects, int[] studentSubject, int[] roomStart,
+                            int[] seatBench, byte[] seatPosition) {
+        this.subjects = subjects;
+        this.studentSubject = studentSubject;
+        this.roomStart = roomStart;
+        this.seatBench = seatBench;
+        this.seatPosition = seatPosition;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int subjectCount() {
+        return subjects.length;
+    }
+
+    public String subjectName(int subjectId) {
+        return subjects[subjectId];
+    }
+
+    public int studentCount() {
+        return studentSubject.length;
+    }
+
+    public int studentSubject(int student) {
+        return studentSubject[student];
+    }
+
+    public int roomCount() {
+        return roomStart.length - 1;
+    }
+
+    /**
+     * First seat index of a room; the room's seats are {@code [roomStart(room), roomStart(room + 1))}
+     */
+    public int roomStart(int room) {
+        return roomStart[room];
+    }
+
+    public int seatCount() {
+        return seatBench.length;
+    }
+
+    public int seatBench(int seat) {
+        return seatBench[seat];
+    }
+
+    public byte seatPosition(int seat) {
+        return seatPosition[seat];
+    }
+
+    public static byte encodePosition(String position) {
+        return switch (position) {
+            case "R" -> POSITION_R;
+            case "M" -> POSITION_M;
+            case "L" -> POSITION_L;
+            default -> throw new IllegalArgumentException("Unknown seat position: " + position);
+        };
+    }
+
+    /**
+     * Collects students and seats. Seats must be added room by room, in bench order within a room.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> subjectIds = new HashMap<>();
+        private final List<String> subjects = new ArrayList<>();
+        private int[] studentSubject = new int[64];
+        private int studentCount;
+
+        private final List<Integer> roomStarts = new ArrayList<>();
+        private int[] seatBench = new int[64];
+        private byte[] seatPosition = new byte[64];
+        private int seatCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a student sitting the given subject and return its student index
+         */
+        public int addStudent(String subject) {
+            int subjectId = subjectIds.computeIfAbsent(subject, s -> {
+                subjects.add(s);
+                return subjects.size() - 1;
+            });
+            if (studentCount == studentSubject.length) {
+                studentSubject = Arrays.copyOf(studentSubject, studentCount * 2);
+            }
+            studentSubject[studentCount] = subjectId;
+            return studentCount++;
+        }
+
+        /**
+         * Start a new room; seats added afterwards belong to it. Returns the room index.
+         */
+        public int startRoom() {
+            roomStarts.add(seatCount);
+            return roomStarts.size() - 1;
+        }
+
+        /**
+         * Add a seat to the current room and return its seat index
+         */
+        public int addSeat(int benchNo, String position) {
+            if (roomStarts.isEmpty()) {
+                throw new IllegalStateException("startRoom() must be called before adding seats");
+            }
+            if (seatCount == seatBench.length) {
+                seatBench = Arrays.copyOf(seatBench, seatCount * 2);
+                seatPosition = Arrays.copyOf(seatPosition, seatCount * 2);
+            }
+            seatBench[seatCount] = benchNo;
+            seatPosition[seatCount] = encodePosition(position);
+            return seatCount++;
+        }
+
+        public AllocationInput build() {
+            int[] starts = new int[roomStarts.size() + 1];
+            for (int i = 0; i < roomStarts.size(); i++) {
+                starts[i] = roomStarts.get(i);
+            }
+            starts[roomStarts.size()] = seatCount;
+
+            return new AllocationInput(
+                    subjects.toArray(new String[0]),
+                    Arrays.copyOf(studentSubject, studentCount),
+                    starts,
+                    Arrays.copyOf(seatBench, seatCount),
+                    Arrays.copyOf(seatPosition, seatCount));
+        }
+    }
+}
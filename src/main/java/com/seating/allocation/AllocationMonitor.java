@@ -0,0 +1,24 @@
+package com.seating.allocation;
+
+/**
+ * Optional hook for observing and cancelling a {@link SeatAllocator} run.
+ * The allocator reports progress and checks for cancellation once per room.
+ */
+public interface AllocationMonitor {
+
+    AllocationMonitor NONE = new AllocationMonitor() {
+    };
+
+    /**
+     * Called after each room with the total number of seats filled so far
+     */
+    default void seatsFilled(int seatsFilled) {
+    }
+
+    /**
+     * When this returns true the allocator stops with an {@link AllocationCancelledException}
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
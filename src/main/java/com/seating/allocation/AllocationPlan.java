@@ -0,0 +1,49 @@
+package com.seating.allocation;
+
+/**
+ * Immutable result of {@link SeatAllocator}: the i-th assignment places student
+ * {@link #studentAt(int)} on seat {@link #seatAt(int)} for subject {@link #subjectAt(int)}.
+ * Assignments are listed in allocation order (room by room, R then M then L).
+ */
+public final class AllocationPlan {
+
+    private final int[] seats;
+    private final int[] students;
+    private final int[] subjects;
+    private final int unallocatedStudents;
+
+    AllocationPlan(int[] seats, int[] students, int[] subjects, int unallocatedStudents) {
+        this.seats = seats;
+        this.students = students;
+        this.subjects = subjects;
+        this.unallocatedStudents = unallocatedStudents;
+    }
+
+    static AllocationPlan empty(int unallocatedStudents) {
+        return new AllocationPlan(new int[0], new int[0], new int[0], unallocatedStudents);
+    }
+
+    public int size() {
+        return seats.length;
+    }
+
+    public boolean isEmpty() {
+        return seats.length == 0;
+    }
+
+    public int seatAt(int i) {
+        return seats[i];
+    }
+
+    public int studentAt(int i) {
+        return students[i];
+    }
+
+    public int subjectAt(int i) {
+        return subjects[i];
+    }
+
+    public int unallocatedStudents() {
+        return unallocatedStudents;
+    }
+}
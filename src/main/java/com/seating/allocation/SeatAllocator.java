@@ -0,0 +1,272 @@
+package com.seating.allocation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * ROOM-BY-ROOM POSITION-BY-POSITION ALLOCATION WITH 2-SUBJECT-PER-BENCH
+ * Rules:
+ * 1) L and R have different subjects (R ≠ L) - unless no other subjects available
+ * 2) M is continuation of R on the same bench (M = R's subject), never taking L's current subject
+ * 3) Sequence is maintained (rooms in input order, seats in bench order)
+ * 4) R, M, L of the room completed before moving to next room
+ * 5) Subject sequence continues from one room to the next
+ * 6) If one series (R or L) exhausts and no other subjects available, continue with the opposite series' subject
+ *
+ * Works purely on the int arrays of {@link AllocationInput}, so it has no dependency on JPA
+ * entities or Spring. Each subject is a pool with a cursor, which keeps a run linear in
+ * students plus seats.
+ */
+@Slf4j
+public class SeatAllocator {
+
+    public AllocationPlan allocate(AllocationInput input) {
+        return allocate(input, AllocationMonitor.NONE);
+    }
+
+    public AllocationPlan allocate(AllocationInput input, AllocationMonitor monitor) {
+        int numSubjects = input.subjectCount();
+        if (numSubjects < 2) {
+            log.error("At least 2 subjects required for R≠L constraint");
+            return AllocationPlan.empty(input.studentCount());
+        }
+
+        SubjectPools pools = new SubjectPools(input);
+        int[] orderedSubjects = pools.orderedBySizeDescending();
+
+        Series r = new Series("R", 0, orderedSubjects[0]);
+        Series l = new Series("L", 1, orderedSubjects[1]);
+        log.info("Starting allocation - R: {}, L: {}, M: will match R", input.subjectName(r.subject), input.subjectName(l.subject));
+
+        int capacity = Math.min(input.studentCount(), input.seatCount());
+        int[] planSeats = new int[capacity];
+        int[] planStudents = new int[capacity];
+        int[] planSubjects = new int[capacity];
+        int planned = 0;
+
+        int[][] seatsByPosition = new int[3][];
+        int[] positionCounts = new int[3];
+        int[] benchRSubject = new int[0];
+
+        for (int room = 0; room < input.roomCount(); room++) {
+            if (monitor.isCancelled()) {
+                throw new AllocationCancelledException("Allocation cancelled after " + planned + " seats");
+            }
+
+            int start = input.roomStart(room);
+            int end = input.roomStart(room + 1);
+            if (start == end) {
+                continue;
+            }
+
+            // Split the room's seats into R, M and L series in one pass, keeping bench order
+            int roomSize = end - start;
+            int maxBench = 0;
+            Arrays.fill(positionCounts, 0);
+            for (int p = 0; p < 3; p++) {
+                if (seatsByPosition[p] == null || seatsByPosition[p].length < roomSize) {
+                    seatsByPosition[p] = new int[roomSize];
+                }
+            }
+            for (int seat = start; seat < end; seat++) {
+                int p = input.seatPosition(seat);
+                seatsByPosition[p][positionCounts[p]++] = seat;
+                maxBench = Math.max(maxBench, input.seatBench(seat));
+            }
+            if (benchRSubject.length <= maxBench) {
+                benchRSubject = new int[maxBench + 1];
+            }
+            Arrays.fill(benchRSubject, 0, maxBench + 1, -1);
+
+            // PHASE 1: all R seats of this room
+            int[] rSeats = seatsByPosition[AllocationInput.POSITION_R];
+            for (int i = 0; i < positionCounts[AllocationInput.POSITION_R]; i++) {
+                int student = nextForSeries(r, l, pools, orderedSubjects, input);
+                if (student < 0) {
+                    log.warn("No more students available for R position");
+                    break;
+                }
+                planSeats[planned] = rSeats[i];
+                planStudents[planned] = student;
+                planSubjects[planned++] = r.subject;
+                benchRSubject[input.seatBench(rSeats[i])] = r.subject;
+            }
+
+            // PHASE 2: all M seats, matching R's subject on the same bench
+            int[] mSeats = seatsByPosition[AllocationInput.POSITION_M];
+            for (int i = 0; i < positionCounts[AllocationInput.POSITION_M]; i++) {
+                int bench = input.seatBench(mSeats[i]);
+                int subject = benchRSubject[bench];
+                if (subject < 0) {
+                    log.warn("Could not allocate M seat - Bench: {}, no R student on this bench", bench);
+                    continue;
+                }
+
+                int student = pools.poll(subject);
+                if (student < 0) {
+                    // R's subject exhausted: any other subject except L's, which is kept for Phase 3
+                    for (int candidate : orderedSubjects) {
+                        if (candidate == benchRSubject[bench] || candidate == l.subject) {
+                            continue;
+                        }
+                        student = pools.poll(candidate);
+                        if (student >= 0) {
+                            subject = candidate;
+                            break;
+                        }
+                    }
+                }
+
+                if (student < 0) {
+                    log.warn("Could not allocate M seat - Bench: {}, R subject: {}, L subject (planned): {}",
+                            bench, input.subjectName(benchRSubject[bench]), input.subjectName(l.subject));
+                    continue;
+                }
+                planSeats[planned] = mSeats[i];
+                planStudents[planned] = student;
+                planSubjects[planned++] = subject;
+            }
+
+            // PHASE 3: all L seats of this room
+            int[] lSeats = seatsByPosition[AllocationInput.POSITION_L];
+            for (int i = 0; i < positionCounts[AllocationInput.POSITION_L]; i++) {
+                int student = nextForSeries(l, r, pools, orderedSubjects, input);
+                if (student < 0) {
+                    log.warn("No more students available for L position");
+                    break;
+                }
+                planSeats[planned] = lSeats[i];
+                planStudents[planned] = student;
+                planSubjects[planned++] = l.subject;
+            }
+
+            monitor.seatsFilled(planned);
+            log.debug("Completed room {} - {} seats planned so far", room, planned);
+        }
+
+        int unallocated = pools.remainingTotal();
+        if (unallocated > 0) {
+            log.warn("Warning: {} students were not allocated (insufficient seats or subject constraints)", unallocated);
+        }
+        log.info("Seating allocation complete: {} students allocated", planned);
+
+        return new AllocationPlan(
+                Arrays.copyOf(planSeats, planned),
+                Arrays.copyOf(planStudents, planned),
+                Arrays.copyOf(planSubjects, planned),
+                unallocated);
+    }
+
+    /**
+     * Take the next student for a series. When its subject is exhausted the series moves on to the
+     * next subject in order, skipping the opposite series' subject; as a last resort it continues
+     * with the opposite series' subject. Returns -1 when no student is left.
+     */
+    private int nextForSeries(Series series, Series opposite, SubjectPools pools,
+                              int[] orderedSubjects, AllocationInput input) {
+        int student = pools.poll(series.subject);
+        if (student >= 0) {
+            return student;
+        }
+
+        log.info("{}-position: Subject {} exhausted, switching to next", series.name, input.subjectName(series.subject));
+        int numSubjects = orderedSubjects.length;
+        for (int i = 1; i <= numSubjects; i++) {
+            int testIndex = (series.orderIndex + i) % numSubjects;
+            int testSubject = orderedSubjects[testIndex];
+            if (testSubject == opposite.subject) {
+                continue;
+            }
+            student = pools.poll(testSubject);
+            if (student >= 0) {
+                series.orderIndex = testIndex;
+                series.subject = testSubject;
+                log.info("{}-position: Switched to subject {}", series.name, input.subjectName(testSubject));
+                return student;
+            }
+        }
+
+        student = pools.poll(opposite.subject);
+        if (student >= 0) {
+            series.orderIndex = opposite.orderIndex;
+            series.subject = opposite.subject;
+            log.info("{}-position: No other subjects available, continuing with {}'s subject {}",
+                    series.name, opposite.name, input.subjectName(series.subject));
+        }
+        return student;
+    }
+
+    /**
+     * Current subject of the R or L series, as a subject id and its index in the ordered subject list
+     */
+    private static final class Series {
+        private final String name;
+        private int orderIndex;
+        private int subject;
+
+        Series(String name, int orderIndex, int subject) {
+            this.name = name;
+            this.orderIndex = orderIndex;
+            this.subject = subject;
+        }
+    }
+
+    /**
+     * Students grouped by subject in one flat array, with a read cursor per subject
+     */
+    private static final class SubjectPools {
+        private final int[] members;
+        private final int[] head;
+        private final int[] end;
+
+        SubjectPools(AllocationInput input) {
+            int numSubjects = input.subjectCount();
+            head = new int[numSubjects];
+            end = new int[numSubjects];
+
+            for (int student = 0; student < input.studentCount(); student++) {
+                end[input.studentSubject(student)]++;
+            }
+            for (int s = 0, offset = 0; s < numSubjects; s++) {
+                int size = end[s];
+                head[s] = offset;
+                end[s] = offset;
+                offset += size;
+            }
+
+            members = new int[input.studentCount()];
+            for (int student = 0; student < input.studentCount(); student++) {
+                members[end[input.studentSubject(student)]++] = student;
+            }
+        }
+
+        int poll(int subject) {
+            return head[subject] < end[subject] ? members[head[subject]++] : -1;
+        }
+
+        int remaining(int subject) {
+            return end[subject] - head[subject];
+        }
+
+        int remainingTotal() {
+            int total = 0;
+            for (int s = 0; s < head.length; s++) {
+                total += remaining(s);
+            }
+            return total;
+        }
+
+        /**
+         * Subject ids ordered by pool size (descending), ties kept in first-seen order
+         */
+        int[] orderedBySizeDescending() {
+            return IntStream.range(0, head.length)
+                    .boxed()
+                    .sorted((a, b) -> Integer.compare(remaining(b), remaining(a)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.seating.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for JDBC batch writes
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seating.batch")
+@Data
+public class BatchConfig {
+
+    /**
+     * Number of rows sent to the database per JDBC batch
+     */
+    private int size = 1000;
+}
@@ -0,0 +1,35 @@
+package com.seating.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for background seating generation jobs
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seating.generation")
+@Data
+public class GenerationConfig {
+
+    /**
+     * Number of generation jobs that may run at the same time
+     */
+    private int threads = 2;
+
+    /**
+     * Number of submitted jobs that may wait for a free thread before new ones are rejected
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * How long finished jobs stay available on the status endpoint
+     */
+    private int jobRetentionMinutes = 60;
+
+    /**
+     * How long /generate waits for its job before answering 202 with the job id to poll instead;
+     * keep it below spring.mvc.async.request-timeout
+     */
+    private int responseTimeoutSeconds = 25;
+}
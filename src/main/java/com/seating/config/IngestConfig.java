@@ -0,0 +1,24 @@
+package com.seating.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the upload pipeline that parses files and writes their rows in parallel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seating.ingest")
+@Data
+public class IngestConfig {
+
+    /**
+     * Number of uploads whose rows may be written to the database at the same time
+     */
+    private int writerThreads = 2;
+
+    /**
+     * Number of parsed batches that may wait for the writer; parsing pauses when the queue is full
+     */
+    private int queueCapacity = 4;
+}
@@ -0,0 +1,29 @@
+package com.seating.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the on-disk cache of rendered PDFs
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seating.pdf-cache")
+@Data
+public class PdfCacheConfig {
+
+    /**
+     * Whether rendered PDFs are kept on disk and served again for the same parameters
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory for cached PDFs; the cache's run-* subdirectories in it are removed on startup
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/seating-pdf-cache";
+
+    /**
+     * Total size of cached PDFs; the least recently used files are deleted beyond this
+     */
+    private int maxSizeMb = 512;
+}
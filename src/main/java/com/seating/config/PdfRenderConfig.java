@@ -0,0 +1,24 @@
+package com.seating.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for rendering multi-room PDF booklets
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seating.pdf-render")
+@Data
+public class PdfRenderConfig {
+
+    /**
+     * Number of rooms whose report pages are built at the same time
+     */
+    private int threads = 4;
+
+    /**
+     * Number of rooms built ahead of the one being written, per thread; bounds memory for large booklets
+     */
+    private int lookaheadPerThread = 2;
+}
@@ -0,0 +1,24 @@
+package com.seating.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the in-memory report cache
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seating.report-cache")
+@Data
+public class ReportCacheConfig {
+
+    /**
+     * Number of runs whose reports are kept; the least recently used run is evicted beyond this
+     */
+    private int maxEntries = 50;
+
+    /**
+     * How long a run's reports stay cached after they were loaded
+     */
+    private int ttlMinutes = 60;
+}
@@ -1,5 +1,6 @@
 package com.seating.controller;
 
+import com.seating.dto.ImportResultDTO;
 import com.seating.entity.Room;
 import com.seating.service.ExcelService;
 import com.seating.service.RoomService;
@@ -56,10 +57,14 @@ public class RoomController {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            roomService.uploadRooms(file);
+            ImportResultDTO result = roomService.uploadRooms(file);
 
             response.put("success", true);
-            response.put("message", "Rooms uploaded successfully");
+            response.put("message", String.format("Rooms uploaded successfully. Added: %d, Skipped: %d",
+                    result.getInserted(), result.getSkipped()));
+            response.put("inserted", result.getInserted());
+            response.put("skipped", result.getSkipped());
+            response.put("stats", result.getStats());
             response.put("roomCount", roomService.getRoomCount());
             response.put("seatCount", roomService.getTotalSeats());
 
@@ -1,15 +1,24 @@
 package com.seating.controller;
 
+import com.itextpdf.text.DocumentException;
+import com.seating.config.GenerationConfig;
 import com.seating.config.ReportConfig;
+import com.seating.dto.ArrangementRunDTO;
 import com.seating.dto.ConsolidatedReportDTO;
+import com.seating.dto.GenerationJobDTO;
 import com.seating.dto.JuniorSupervisorReportDTO;
+import com.seating.dto.ReportBundleDTO;
 import com.seating.dto.RoomReportDTO;
 import com.seating.dto.SeatingFilterDTO;
+import com.seating.service.GenerationJob;
+import com.seating.service.GenerationJobService;
+import com.seating.service.PdfFileCache;
 import com.seating.service.PdfService;
+import com.seating.service.ReportCache;
+import com.seating.service.RoomLockConflictException;
 import com.seating.service.SeatingArrangementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -17,11 +26,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * Controller for seating arrangement operations
@@ -33,44 +51,151 @@ import java.util.Map;
 public class SeatingArrangementController {
 
     private final SeatingArrangementService seatingService;
+    private final GenerationJobService generationJobService;
     private final PdfService pdfService;
+    private final ReportCache reportCache;
+    private final PdfFileCache pdfFileCache;
     private final ReportConfig reportConfig;
+    private final GenerationConfig generationConfig;
 
+    /**
+     * Runs generation as a background job and answers once it finishes, without holding a request thread.
+     * A job still running after seating.generation.response-timeout-seconds is answered with 202 and
+     * its job id, so the caller can poll it like a job submitted through /jobs.
+     */
     @PostMapping("/generate")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> generateSeatingArrangement(@RequestBody SeatingFilterDTO filter) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> generateSeatingArrangement(@RequestBody SeatingFilterDTO filter) {
+        try {
+            GenerationJob job = generationJobService.submit(filter);
+            return job.getCompletion().thenApply(finished -> {
+                Map<String, Object> response = new HashMap<>();
+                if (finished.getStatus() == GenerationJob.Status.COMPLETED) {
+                    response.put("success", true);
+                    response.putAll(finished.getResult());
+                    return ResponseEntity.ok(response);
+                }
+                response.put("success", false);
+                response.put("message", finished.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            }).orTimeout(generationConfig.getResponseTimeoutSeconds(), TimeUnit.SECONDS).exceptionally(e -> {
+                if (e instanceof TimeoutException) {
+                    return stillRunningResponse(job);
+                }
+                throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+            });
+
+        } catch (RoomLockConflictException e) {
+            log.warn("Generation refused: {}", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).body(roomConflictResponse(e)));
+
+        } catch (Exception e) {
+            log.error("Error generating seating arrangement: {}", e.getMessage(), e);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response));
+        }
+    }
+
+    @PostMapping("/jobs")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> submitGenerationJob(@RequestBody SeatingFilterDTO filter) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            Map<String, Object> result = seatingService.generateSeatingArrangement(filter);
+            GenerationJob job = generationJobService.submit(filter);
             response.put("success", true);
-            response.putAll(result);
+            response.put("jobId", job.getId());
+            response.put("status", job.getStatus().name());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
 
-            return ResponseEntity.ok(response);
+        } catch (RoomLockConflictException e) {
+            log.warn("Generation job refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(roomConflictResponse(e));
 
         } catch (Exception e) {
-            log.error("Error generating seating arrangement: {}", e.getMessage(), e);
+            log.error("Error submitting generation job: {}", e.getMessage(), e);
             response.put("success", false);
             response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
     }
 
+    private ResponseEntity<Map<String, Object>> stillRunningResponse(GenerationJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus().name());
+        response.put("message", "Generation is still running; poll /api/seating/jobs/" + job.getId() + " for the result");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private Map<String, Object> roomConflictResponse(RoomLockConflictException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        response.put("conflictingRoomIds", e.getRoomIds());
+        return response;
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<GenerationJobDTO> getGenerationJob(@PathVariable String jobId) {
+        return generationJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job.toDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<GenerationJobDTO> cancelGenerationJob(@PathVariable String jobId) {
+        return generationJobService.cancel(jobId)
+                .map(job -> ResponseEntity.ok(job.toDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/reports")
     public String showReportsPage(Model model) {
-        List<LocalDate> dates = seatingService.getAllArrangementDates();
-        model.addAttribute("dates", dates);
+        List<ArrangementRunDTO> runs = seatingService.getAllRuns();
+        model.addAttribute("runs", runs);
         model.addAttribute("reportHeaderLine1", reportConfig.getLine1());
         model.addAttribute("reportHeaderLine2", reportConfig.getLine2());
         return "reports";
     }
 
+    /**
+     * Consolidated, room and junior supervisor views of a run in one response
+     */
+    @GetMapping("/reports/bundle")
+    @ResponseBody
+    public ResponseEntity<ReportBundleDTO> getReportBundle(@RequestParam Long runId) {
+        try {
+            return ResponseEntity.ok(seatingService.getReportBundle(runId));
+        } catch (Exception e) {
+            log.error("Error fetching report bundle: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/reports/cache/stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getReportCacheStats() {
+        return ResponseEntity.ok(reportCache.getStats());
+    }
+
+    @GetMapping("/reports/pdf-cache/stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getPdfCacheStats() {
+        return ResponseEntity.ok(pdfFileCache.getStats());
+    }
+
     @GetMapping("/reports/consolidated")
     @ResponseBody
     public ResponseEntity<List<ConsolidatedReportDTO>> getConsolidatedReport(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam Long runId) {
         try {
-            List<ConsolidatedReportDTO> report = seatingService.getConsolidatedReport(date);
+            List<ConsolidatedReportDTO> report = seatingService.getConsolidatedReport(runId);
             return ResponseEntity.ok(report);
         } catch (Exception e) {
             log.error("Error fetching consolidated report: {}", e.getMessage(), e);
@@ -81,9 +206,9 @@ public class SeatingArrangementController {
     @GetMapping("/reports/rooms")
     @ResponseBody
     public ResponseEntity<List<RoomReportDTO>> getRoomReports(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam Long runId) {
         try {
-            List<RoomReportDTO> reports = seatingService.getRoomReports(date);
+            List<RoomReportDTO> reports = seatingService.getRoomReports(runId);
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
             log.error("Error fetching room reports: {}", e.getMessage(), e);
@@ -93,24 +218,17 @@ public class SeatingArrangementController {
 
     @GetMapping("/reports/room/pdf")
     @ResponseBody
-    public ResponseEntity<byte[]> downloadRoomPdf(
+    public ResponseEntity<StreamingResponseBody> downloadRoomPdf(
             @RequestParam String roomNo,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam Long runId,
             @RequestParam(defaultValue = "10") String fontSize) {
         try {
-            List<RoomReportDTO> reports = seatingService.getRoomReports(date);
-            RoomReportDTO roomReport = reports.stream()
-                    .filter(r -> r.getRoomNo().equals(roomNo))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Room not found in reports"));
-
-            byte[] pdfData = pdfService.generateRoomReportPdf(roomReport, date, fontSize);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "room_" + roomNo + "_report.pdf");
-
-            return new ResponseEntity<>(pdfData, headers, HttpStatus.OK);
+            return pdfResponse(runId, date -> "room_" + roomNo + "_report.pdf", List.of("room", roomNo, fontSize),
+                    (date, out) -> {
+                        RoomReportDTO roomReport = seatingService.getRoomReport(runId, roomNo)
+                                .orElseThrow(() -> new IllegalArgumentException("Room not found in reports"));
+                        pdfService.generateRoomReportPdf(roomReport, date, fontSize, out);
+                    });
 
         } catch (Exception e) {
             log.error("Error generating PDF: {}", e.getMessage(), e);
@@ -120,18 +238,13 @@ public class SeatingArrangementController {
 
     @GetMapping("/reports/consolidated/pdf")
     @ResponseBody
-    public ResponseEntity<byte[]> downloadConsolidatedPdf(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+    public ResponseEntity<StreamingResponseBody> downloadConsolidatedPdf(
+            @RequestParam Long runId,
             @RequestParam(defaultValue = "10") String fontSize) {
         try {
-            List<ConsolidatedReportDTO> report = seatingService.getConsolidatedReport(date);
-            byte[] pdfData = pdfService.generateConsolidatedReportPdf(report, date, fontSize);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "consolidated_report_" + date + ".pdf");
-
-            return new ResponseEntity<>(pdfData, headers, HttpStatus.OK);
+            return pdfResponse(runId, date -> "consolidated_report_" + date + "_run" + runId + ".pdf", List.of("consolidated", fontSize),
+                    (date, out) -> pdfService.generateConsolidatedReportPdf(
+                            seatingService.getConsolidatedReport(runId), date, fontSize, out));
 
         } catch (Exception e) {
             log.error("Error generating consolidated PDF: {}", e.getMessage(), e);
@@ -141,19 +254,13 @@ public class SeatingArrangementController {
 
     @GetMapping("/reports/all-rooms/pdf")
     @ResponseBody
-    public ResponseEntity<byte[]> downloadAllRoomsPdf(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+    public ResponseEntity<StreamingResponseBody> downloadAllRoomsPdf(
+            @RequestParam Long runId,
             @RequestParam(defaultValue = "10") String fontSize) {
         try {
-            List<RoomReportDTO> reports = seatingService.getRoomReports(date);
-
-            byte[] pdfData = pdfService.generateMergedRoomReportsPdf(reports, date, fontSize);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "all_rooms_report_" + date + ".pdf");
-
-            return new ResponseEntity<>(pdfData, headers, HttpStatus.OK);
+            return pdfResponse(runId, date -> "all_rooms_report_" + date + "_run" + runId + ".pdf", List.of("all-rooms", fontSize),
+                    (date, out) -> pdfService.generateMergedRoomReportsPdf(
+                            seatingService.getRoomReports(runId), date, fontSize, out));
 
         } catch (Exception e) {
             log.error("Error generating merged PDF: {}", e.getMessage(), e);
@@ -161,14 +268,14 @@ public class SeatingArrangementController {
         }
     }
 
-    @GetMapping("/dates")
+    @GetMapping("/runs")
     @ResponseBody
-    public ResponseEntity<List<LocalDate>> getAllArrangementDates() {
+    public ResponseEntity<List<ArrangementRunDTO>> getAllRuns() {
         try {
-            List<LocalDate> dates = seatingService.getAllArrangementDates();
-            return ResponseEntity.ok(dates);
+            List<ArrangementRunDTO> runs = seatingService.getAllRuns();
+            return ResponseEntity.ok(runs);
         } catch (Exception e) {
-            log.error("Error fetching arrangement dates: {}", e.getMessage(), e);
+            log.error("Error fetching arrangement runs: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -176,9 +283,9 @@ public class SeatingArrangementController {
     @GetMapping("/reports/junior-supervisor")
     @ResponseBody
     public ResponseEntity<List<JuniorSupervisorReportDTO>> getJuniorSupervisorReports(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam Long runId) {
         try {
-            List<JuniorSupervisorReportDTO> reports = seatingService.getJuniorSupervisorReports(date);
+            List<JuniorSupervisorReportDTO> reports = seatingService.getJuniorSupervisorReports(runId);
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
             log.error("Error fetching junior supervisor reports: {}", e.getMessage(), e);
@@ -188,28 +295,22 @@ public class SeatingArrangementController {
 
     @GetMapping("/reports/junior-supervisor/pdf")
     @ResponseBody
-    public ResponseEntity<byte[]> downloadJuniorSupervisorPdf(
+    public ResponseEntity<StreamingResponseBody> downloadJuniorSupervisorPdf(
             @RequestParam String roomNo,
             @RequestParam String subject,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam Long runId,
             @RequestParam(defaultValue = "10") String fontSize,
             @RequestParam(defaultValue = "true") boolean showAnswerSheetCol,
             @RequestParam(defaultValue = "true") boolean showSupplementsCol) {
         try {
-            List<JuniorSupervisorReportDTO> reports = seatingService.getJuniorSupervisorReports(date);
-            JuniorSupervisorReportDTO report = reports.stream()
-                    .filter(r -> r.getRoomNo().equals(roomNo) && r.getSubject().equals(subject))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Report not found for room " + roomNo + " and subject " + subject));
-
-            byte[] pdfData = pdfService.generateJuniorSupervisorReportPdf(report, date, fontSize, showAnswerSheetCol, showSupplementsCol);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
             String filename = "jr_supervisor_" + roomNo + "_" + subject.replaceAll("[^a-zA-Z0-9]", "_") + ".pdf";
-            headers.setContentDispositionFormData("attachment", filename);
-
-            return new ResponseEntity<>(pdfData, headers, HttpStatus.OK);
+            return pdfResponse(runId, date -> filename,
+                    List.of("junior-supervisor", roomNo, subject, fontSize, showAnswerSheetCol, showSupplementsCol),
+                    (date, out) -> {
+                        JuniorSupervisorReportDTO report = seatingService.getJuniorSupervisorReport(runId, roomNo, subject)
+                                .orElseThrow(() -> new IllegalArgumentException("Report not found for room " + roomNo + " and subject " + subject));
+                        pdfService.generateJuniorSupervisorReportPdf(report, date, fontSize, showAnswerSheetCol, showSupplementsCol, out);
+                    });
 
         } catch (Exception e) {
             log.error("Error generating Junior Supervisor PDF: {}", e.getMessage(), e);
@@ -219,20 +320,16 @@ public class SeatingArrangementController {
 
     @GetMapping("/reports/junior-supervisor/all/pdf")
     @ResponseBody
-    public ResponseEntity<byte[]> downloadAllJuniorSupervisorPdfs(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+    public ResponseEntity<StreamingResponseBody> downloadAllJuniorSupervisorPdfs(
+            @RequestParam Long runId,
             @RequestParam(defaultValue = "10") String fontSize,
             @RequestParam(defaultValue = "true") boolean showAnswerSheetCol,
             @RequestParam(defaultValue = "true") boolean showSupplementsCol) {
         try {
-            List<JuniorSupervisorReportDTO> reports = seatingService.getJuniorSupervisorReports(date);
-            byte[] pdfData = pdfService.generateAllJuniorSupervisorReportsPdf(reports, date, fontSize, showAnswerSheetCol, showSupplementsCol);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "all_junior_supervisor_reports_" + date + ".pdf");
-
-            return new ResponseEntity<>(pdfData, headers, HttpStatus.OK);
+            return pdfResponse(runId, date -> "all_junior_supervisor_reports_" + date + "_run" + runId + ".pdf",
+                    List.of("all-junior-supervisor", fontSize, showAnswerSheetCol, showSupplementsCol),
+                    (date, out) -> pdfService.generateAllJuniorSupervisorReportsPdf(
+                            seatingService.getJuniorSupervisorReports(runId), date, fontSize, showAnswerSheetCol, showSupplementsCol, out));
 
         } catch (Exception e) {
             log.error("Error generating all Junior Supervisor PDFs: {}", e.getMessage(), e);
@@ -240,13 +337,40 @@ public class SeatingArrangementController {
         }
     }
 
+    /**
+     * Streams a PDF straight to the response instead of buffering the whole file. The PDF is
+     * served from the disk cache when one was already rendered for the same run and parameters;
+     * only the run's date is looked up up front, the reports are loaded by the renderer on a miss.
+     */
+    private ResponseEntity<StreamingResponseBody> pdfResponse(Long runId, Function<LocalDate, String> filename,
+            List<?> params, RunPdfRenderer renderer) {
+        Optional<LocalDate> runDate = seatingService.findRunDate(runId);
+        if (runDate.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        LocalDate date = runDate.get();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", filename.apply(date));
+
+        StreamingResponseBody body = out -> {
+            try {
+                pdfFileCache.send(runId, params, pdfOut -> renderer.render(date, pdfOut), out);
+            } catch (DocumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
     @DeleteMapping
     @ResponseBody
     public ResponseEntity<Map<String, Object>> deleteArrangement(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam Long runId) {
         Map<String, Object> response = new HashMap<>();
         try {
-            seatingService.deleteArrangement(date);
+            seatingService.deleteRun(runId);
             response.put("success", true);
             response.put("message", "Arrangement deleted successfully");
             return ResponseEntity.ok(response);
@@ -274,4 +398,12 @@ public class SeatingArrangementController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Renders one of a run's PDFs, given the run's arrangement date
+     */
+    @FunctionalInterface
+    private interface RunPdfRenderer {
+        void render(LocalDate date, OutputStream out) throws DocumentException;
+    }
 }
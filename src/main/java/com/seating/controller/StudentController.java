@@ -1,5 +1,6 @@
 package com.seating.controller;
 
+import com.seating.dto.ImportResultDTO;
 import com.seating.entity.Student;
 import com.seating.service.ExcelService;
 import com.seating.service.StudentService;
@@ -46,7 +47,9 @@ public class StudentController {
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Object>> uploadStudents(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, Object>> uploadStudents(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean upsert) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -56,10 +59,15 @@ public class StudentController {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            studentService.uploadStudents(file);
+            ImportResultDTO result = studentService.uploadStudents(file, upsert);
 
             response.put("success", true);
-            response.put("message", "Students uploaded successfully");
+            response.put("message", String.format("Students uploaded successfully. Added: %d, Updated: %d, Skipped: %d",
+                    result.getInserted(), result.getUpdated(), result.getSkipped()));
+            response.put("inserted", result.getInserted());
+            response.put("updated", result.getUpdated());
+            response.put("skipped", result.getSkipped());
+            response.put("stats", result.getStats());
             response.put("count", studentService.getStudentCount());
 
             return ResponseEntity.ok(response);
@@ -0,0 +1,23 @@
+package com.seating.dto;
+
+import lombok.*;
+
+/**
+ * Flat, read-only row of a seating arrangement as read by the report queries
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArrangementRowDTO {
+    private Long roomId;
+    private String roomNo;
+    private String seatNo;
+    private String position;
+    private Integer benchNo;
+    private String rollNo;
+    private String studentName;
+    private String department;
+    private String className;
+    private String subject;
+}
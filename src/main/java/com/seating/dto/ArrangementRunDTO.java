@@ -0,0 +1,22 @@
+package com.seating.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for arrangement run listing
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArrangementRunDTO {
+    private Long id;
+    private String name;
+    private String session;
+    private LocalDate arrangementDate;
+    private Integer totalStudents;
+    private LocalDateTime createdAt;
+}
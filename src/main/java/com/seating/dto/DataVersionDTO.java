@@ -0,0 +1,16 @@
+package com.seating.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a table's row count and latest modification time, used as a cheap optimistic version
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersionDTO {
+    private Long rowCount;
+    private LocalDateTime lastModified;
+}
@@ -0,0 +1,26 @@
+package com.seating.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for the status of a background seating generation job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenerationJobDTO {
+    private String jobId;
+    private String status;
+    private String phase;
+    private int seatsFilled;
+    private int totalStudents;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    private Map<String, Object> result;
+}
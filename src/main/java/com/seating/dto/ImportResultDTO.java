@@ -0,0 +1,18 @@
+package com.seating.dto;
+
+import lombok.*;
+
+/**
+ * DTO for the outcome of a bulk upload
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDTO {
+    private int parsed;
+    private int inserted;
+    private int updated;
+    private int skipped;
+    private IngestStatsDTO stats;
+}
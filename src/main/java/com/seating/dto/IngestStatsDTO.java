@@ -0,0 +1,24 @@
+package com.seating.dto;
+
+import lombok.*;
+
+/**
+ * DTO for the per-stage timings of an upload pipeline; stage times exclude time spent waiting on the other stage
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestStatsDTO {
+    private int rows;
+    private int batches;
+    private long elapsedMillis;
+
+    private long parseMillis;
+    private long parseWaitMillis;
+    private double parseRowsPerSecond;
+
+    private long writeMillis;
+    private long writeWaitMillis;
+    private double writeRowsPerSecond;
+}
@@ -0,0 +1,19 @@
+package com.seating.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO with every report view of one arrangement run, as loaded by the reports page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportBundleDTO {
+    private Long runId;
+    private List<ConsolidatedReportDTO> consolidated;
+    private List<RoomReportDTO> rooms;
+    private List<JuniorSupervisorReportDTO> juniorSupervisor;
+}
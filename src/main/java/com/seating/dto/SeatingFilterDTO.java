@@ -16,4 +16,9 @@ public class SeatingFilterDTO {
     private Set<String> classes;
     private Set<String> subjects;
     private String arrangementName;
+    private String session;
+    /**
+     * Rooms to seat students in; all rooms when empty
+     */
+    private Set<Long> roomIds;
 }
@@ -0,0 +1,44 @@
+package com.seating.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Arrangement Run Entity - one generated seating arrangement. Every SeatingArrangement row
+ * belongs to exactly one run, so several sessions on the same day can coexist.
+ */
+@Entity
+@Table(name = "arrangement_runs", indexes = {
+    @Index(name = "idx_run_date", columnList = "arrangement_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArrangementRun extends BaseEntity {
+
+    @Column(length = 100)
+    private String name;
+
+    @Column(length = 50)
+    private String session;
+
+    @Column(name = "arrangement_date", nullable = false)
+    private LocalDate arrangementDate;
+
+    @Column(name = "total_students")
+    private Integer totalStudents;
+
+    @Override
+    public String toString() {
+        return "ArrangementRun{" +
+                "id=" + getId() +
+                ", name='" + name + '\'' +
+                ", session='" + session + '\'' +
+                ", arrangementDate=" + arrangementDate +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.seating.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Report Snapshot Entity - the report views of a run, built once at generation time and
+ * stored as gzipped JSON so reports and PDFs are served without re-reading arrangements
+ */
+@Entity
+@Table(name = "report_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportSnapshot extends BaseEntity {
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false, unique = true)
+    private ArrangementRun run;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+
+    @Override
+    public String toString() {
+        return "ReportSnapshot{" +
+                "bytes=" + (data == null ? 0 : data.length) +
+                '}';
+    }
+}
@@ -34,6 +34,7 @@ public class Seat extends BaseEntity {
     @Column(name = "bench_no", nullable = false)
     private Integer benchNo;
 
+    // Legacy flag: seating generation keeps occupancy per run and no longer updates this column
     @Column(name = "is_occupied")
     @Builder.Default
     private Boolean isOccupied = false;
@@ -3,15 +3,13 @@ package com.seating.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.time.LocalDate;
-
 /**
  * Seating Arrangement Entity representing the mapping between students and seats
  */
 @Entity
 @Table(name = "seating_arrangements", indexes = {
-    @Index(name = "idx_arrangement_date", columnList = "arrangement_date"),
-    @Index(name = "idx_room_arrangement", columnList = "room_id, arrangement_date"),
+    @Index(name = "idx_arrangement_run", columnList = "run_id"),
+    @Index(name = "idx_room_arrangement", columnList = "room_id, run_id"),
     @Index(name = "idx_student_arrangement", columnList = "student_id")
 })
 @Getter
@@ -21,6 +19,10 @@ import java.time.LocalDate;
 @Builder
 public class SeatingArrangement extends BaseEntity {
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private ArrangementRun run;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
@@ -36,18 +38,10 @@ public class SeatingArrangement extends BaseEntity {
     @Column(nullable = false, length = 100)
     private String subject;
 
-    @Column(name = "arrangement_date", nullable = false)
-    private LocalDate arrangementDate;
-
-    @Column(name = "arrangement_name", length = 100)
-    private String arrangementName;
-
     @Override
     public String toString() {
         return "SeatingArrangement{" +
                 "subject='" + subject + '\'' +
-                ", arrangementDate=" + arrangementDate +
-                ", arrangementName='" + arrangementName + '\'' +
                 '}';
     }
 }
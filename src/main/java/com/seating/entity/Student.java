@@ -45,6 +45,7 @@ public class Student extends BaseEntity {
     @Builder.Default
     private Set<String> subjects = new HashSet<>();
 
+    // Legacy flag: seating generation keeps allocation state per run and no longer updates this column
     @Column(name = "is_allocated")
     @Builder.Default
     private Boolean isAllocated = false;
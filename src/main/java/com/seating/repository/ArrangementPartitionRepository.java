@@ -0,0 +1,128 @@
+package com.seating.repository;
+
+import com.seating.entity.ArrangementRun;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Storage of a run's seating_arrangements rows.
+ *
+ * On PostgreSQL, when database/init.sql created seating_arrangements as a table partitioned by
+ * LIST (run_id), each run gets its own partition and deleting a run drops that partition. On
+ * any other database (or an unpartitioned table) rows are deleted by run_id instead.
+ *
+ * Partition DDL takes an ACCESS EXCLUSIVE lock on the parent table until its transaction ends, so
+ * it never runs inside the transactions that write or delete runs: the partition of a new run is
+ * created up front for a reserved run id, and partitions are detached concurrently and dropped
+ * before a run is deleted, each statement in its own autocommit transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ArrangementPartitionRepository {
+
+    private static final String PARTITIONED_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table pt " +
+            "JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = 'seating_arrangements' AND c.relnamespace = to_regnamespace(current_schema())";
+
+    private static final String NEXT_RUN_ID_SQL =
+            "SELECT nextval(pg_get_serial_sequence('arrangement_runs', 'id'))";
+
+    private static final String INSERT_RUN_SQL =
+            "INSERT INTO arrangement_runs (id, name, session, arrangement_date, total_students, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean partitioned;
+
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            if (result) {
+                Integer count = jdbcTemplate.queryForObject(PARTITIONED_SQL, Integer.class);
+                result = count != null && count > 0;
+            }
+            partitioned = result;
+            log.info("seating_arrangements is {}partitioned by run", result ? "" : "not ");
+        }
+        return result;
+    }
+
+    /**
+     * Reserve the id of the next run and create its partition; must be called outside a transaction.
+     * Returns null when the table is not partitioned, the run then gets its id when it is saved.
+     */
+    public Long reserveRun() {
+        if (!isPartitioned()) {
+            return null;
+        }
+        requireNoTransaction();
+        Long runId = jdbcTemplate.queryForObject(NEXT_RUN_ID_SQL, Long.class);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(runId) +
+                " PARTITION OF seating_arrangements FOR VALUES IN (" + runId + ")");
+        log.debug("Created partition {}", partitionName(runId));
+        return runId;
+    }
+
+    /**
+     * Insert a run under an id from {@link #reserveRun()}
+     */
+    public void insertRun(long runId, ArrangementRun run) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_RUN_SQL, runId, run.getName(), run.getSession(),
+                Date.valueOf(run.getArrangementDate()), run.getTotalStudents(), now, now);
+    }
+
+    /**
+     * Detach and drop the partitions of the given runs; must be called outside a transaction, before
+     * the runs themselves are deleted (their ON DELETE CASCADE would otherwise delete row by row).
+     * Does nothing when the table is not partitioned.
+     */
+    public void dropPartitions(Collection<Long> runIds) {
+        if (!isPartitioned()) {
+            return;
+        }
+        requireNoTransaction();
+        for (long runId : runIds) {
+            String partition = partitionName(runId);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+                jdbcTemplate.execute("ALTER TABLE seating_arrangements DETACH PARTITION " + partition + " CONCURRENTLY");
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.debug("Dropped partition {}", partition);
+            }
+        }
+    }
+
+    /**
+     * Delete a run's rows by run_id when the table is not partitioned; partitioned rows went with
+     * {@link #dropPartitions(Collection)}
+     */
+    public void deleteRunRows(long runId) {
+        if (!isPartitioned()) {
+            int deleted = jdbcTemplate.update("DELETE FROM seating_arrangements WHERE run_id = ?", runId);
+            log.debug("Deleted {} seating arrangements of run {}", deleted, runId);
+        }
+    }
+
+    private void requireNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Partition DDL must not run inside a transaction");
+        }
+    }
+
+    private String partitionName(long runId) {
+        return "seating_arrangements_run_" + runId;
+    }
+}
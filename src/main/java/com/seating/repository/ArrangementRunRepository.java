@@ -0,0 +1,23 @@
+package com.seating.repository;
+
+import com.seating.entity.ArrangementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ArrangementRun entity
+ */
+@Repository
+public interface ArrangementRunRepository extends JpaRepository<ArrangementRun, Long> {
+
+    List<ArrangementRun> findAllByOrderByCreatedAtDesc();
+
+    @Query("SELECT r.arrangementDate FROM ArrangementRun r WHERE r.id = :id")
+    Optional<LocalDate> findArrangementDateById(@Param("id") Long id);
+}
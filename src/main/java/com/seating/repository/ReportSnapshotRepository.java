@@ -0,0 +1,23 @@
+package com.seating.repository;
+
+import com.seating.entity.ReportSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ReportSnapshot entity
+ */
+@Repository
+public interface ReportSnapshotRepository extends JpaRepository<ReportSnapshot, Long> {
+
+    Optional<ReportSnapshot> findByRunId(Long runId);
+
+    @Modifying
+    @Query("DELETE FROM ReportSnapshot rs WHERE rs.run.id = :runId")
+    void deleteByRunId(@Param("runId") Long runId);
+}
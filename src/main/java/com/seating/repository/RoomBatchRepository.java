@@ -0,0 +1,103 @@
+package com.seating.repository;
+
+import com.seating.config.BatchConfig;
+import com.seating.entity.Room;
+import com.seating.entity.Seat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch writer for bulk room imports.
+ *
+ * Saving a Room cascades into one INSERT per Seat, and IDENTITY ids stop Hibernate from batching
+ * them. Rooms are written here with JDBC batches instead; their generated ids are then read back
+ * with one query by room number, the unique business key, and the seats are batch-inserted.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class RoomBatchRepository {
+
+    private static final String SELECT_ROOM_NOS_SQL =
+            "SELECT room_no FROM rooms WHERE room_no IN (:roomNos)";
+
+    private static final String SELECT_IDS_SQL =
+            "SELECT id, room_no FROM rooms WHERE room_no IN (:roomNos)";
+
+    private static final String INSERT_ROOM_SQL =
+            "INSERT INTO rooms (room_no, total_benches, capacity, r_count, m_count, l_count, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SEAT_SQL =
+            "INSERT INTO seats (room_id, seat_no, position, bench_no, is_occupied, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final BatchConfig batchConfig;
+
+    /**
+     * Which of the given room numbers already exist, in one query
+     */
+    public Set<String> findExistingRoomNos(Collection<String> roomNos) {
+        if (roomNos.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                SELECT_ROOM_NOS_SQL, new MapSqlParameterSource("roomNos", roomNos), String.class));
+    }
+
+    /**
+     * Inserts new rooms together with their seats
+     */
+    public void insertAll(List<Room> rooms) {
+        if (rooms.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_ROOM_SQL, rooms, batchConfig.getSize(), (ps, room) -> {
+            ps.setString(1, room.getRoomNo());
+            ps.setInt(2, room.getTotalBenches());
+            ps.setInt(3, room.getCapacity());
+            ps.setInt(4, room.getRCount());
+            ps.setInt(5, room.getMCount());
+            ps.setInt(6, room.getLCount());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+
+        Map<String, Long> roomIds = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_IDS_SQL,
+                new MapSqlParameterSource("roomNos", rooms.stream().map(Room::getRoomNo).toList()),
+                rs -> {
+                    roomIds.put(rs.getString("room_no"), rs.getLong("id"));
+                });
+
+        List<Seat> seats = new ArrayList<>();
+        rooms.forEach(room -> seats.addAll(room.getSeats()));
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SEAT_SQL, seats, batchConfig.getSize(), (ps, seat) -> {
+            ps.setLong(1, roomIds.get(seat.getRoom().getRoomNo()));
+            ps.setString(2, seat.getSeatNo());
+            ps.setString(3, seat.getPosition());
+            ps.setInt(4, seat.getBenchNo());
+            ps.setBoolean(5, seat.getIsOccupied());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        log.debug("Inserted {} rooms with {} seats", rooms.size(), seats.size());
+    }
+}
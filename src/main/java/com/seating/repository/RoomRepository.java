@@ -1,9 +1,13 @@
 package com.seating.repository;
 
+import com.seating.dto.DataVersionDTO;
 import com.seating.entity.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,4 +19,12 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     Optional<Room> findByRoomNo(String roomNo);
 
     boolean existsByRoomNo(String roomNo);
+
+    List<Room> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Room r")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.seating.dto.DataVersionDTO(COUNT(r), MAX(r.updatedAt)) FROM Room r")
+    DataVersionDTO findDataVersion();
 }
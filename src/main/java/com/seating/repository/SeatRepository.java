@@ -1,5 +1,6 @@
 package com.seating.repository;
 
+import com.seating.dto.DataVersionDTO;
 import com.seating.entity.Room;
 import com.seating.entity.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,6 +28,15 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT s FROM Seat s WHERE s.isOccupied = false ORDER BY s.room.id, s.benchNo, s.position")
     List<Seat> findAllAvailableSeats();
 
+    @Query("SELECT s FROM Seat s ORDER BY s.room.id, s.benchNo, s.position")
+    List<Seat> findAllOrderedByRoomAndBench();
+
+    @Query("SELECT s FROM Seat s WHERE s.room.id IN :roomIds ORDER BY s.room.id, s.benchNo, s.position")
+    List<Seat> findByRoomIdsOrderedByRoomAndBench(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query("SELECT new com.seating.dto.DataVersionDTO(COUNT(s), MAX(s.updatedAt)) FROM Seat s")
+    DataVersionDTO findDataVersion();
+
     @Modifying
     @Query("UPDATE Seat s SET s.isOccupied = false")
     void resetAllOccupiedSeats();
@@ -0,0 +1,48 @@
+package com.seating.repository;
+
+import com.seating.config.BatchConfig;
+import com.seating.entity.SeatingArrangement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writer for SeatingArrangement rows.
+ *
+ * IDENTITY ids stop Hibernate from batching inserts, so generated arrangements are written
+ * here with plain JDBC batches instead of {@code saveAll}.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class SeatingArrangementBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO seating_arrangements " +
+            "(run_id, student_id, room_id, seat_id, subject, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchConfig batchConfig;
+
+    public void insertAll(List<SeatingArrangement> arrangements) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, arrangements, batchConfig.getSize(), (ps, arrangement) -> {
+            ps.setLong(1, arrangement.getRun().getId());
+            ps.setLong(2, arrangement.getStudent().getId());
+            ps.setLong(3, arrangement.getRoom().getId());
+            ps.setLong(4, arrangement.getSeat().getId());
+            ps.setString(5, arrangement.getSubject());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        log.debug("Inserted {} seating arrangements in {} batches", arrangements.size(), counts.length);
+    }
+}
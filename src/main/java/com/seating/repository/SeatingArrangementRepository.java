@@ -1,15 +1,19 @@
 package com.seating.repository;
 
+import com.seating.dto.ArrangementRowDTO;
 import com.seating.entity.Room;
 import com.seating.entity.SeatingArrangement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for SeatingArrangement entity
@@ -17,26 +21,41 @@ import java.util.List;
 @Repository
 public interface SeatingArrangementRepository extends JpaRepository<SeatingArrangement, Long> {
 
-    List<SeatingArrangement> findByArrangementDate(LocalDate arrangementDate);
-
     List<SeatingArrangement> findByRoom(Room room);
 
-    List<SeatingArrangement> findByRoomAndArrangementDate(Room room, LocalDate arrangementDate);
-
-    @Query("SELECT sa FROM SeatingArrangement sa " +
-           "WHERE sa.arrangementDate = :date " +
-           "ORDER BY sa.room.roomNo, sa.seat.benchNo, sa.seat.position")
-    List<SeatingArrangement> findByArrangementDateOrdered(@Param("date") LocalDate date);
-
-    @Query("SELECT DISTINCT sa.arrangementDate FROM SeatingArrangement sa ORDER BY sa.arrangementDate DESC")
-    List<LocalDate> findAllArrangementDates();
-
-    @Query("SELECT DISTINCT sa.arrangementName FROM SeatingArrangement sa WHERE sa.arrangementName IS NOT NULL")
-    List<String> findAllArrangementNames();
-
-    @Modifying
-    @Query("DELETE FROM SeatingArrangement sa WHERE sa.arrangementDate = :date")
-    void deleteByArrangementDate(@Param("date") LocalDate date);
+    /**
+     * Everything the reports need for a run in one joined query, without loading any entities.
+     * Streamed, so it must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT new com.seating.dto.ArrangementRowDTO(r.id, r.roomNo, s.seatNo, s.position, s.benchNo, " +
+           "st.rollNo, st.name, st.department, st.className, sa.subject) " +
+           "FROM SeatingArrangement sa JOIN sa.room r JOIN sa.seat s JOIN sa.student st " +
+           "WHERE sa.run.id = :runId " +
+           "ORDER BY r.roomNo, s.benchNo, s.position")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ArrangementRowDTO> streamRowsByRun(@Param("runId") Long runId);
+
+    /**
+     * Report rows of one room in a run, looked up through idx_room_arrangement (room_id, run_id)
+     */
+    @Query("SELECT new com.seating.dto.ArrangementRowDTO(r.id, r.roomNo, s.seatNo, s.position, s.benchNo, " +
+           "st.rollNo, st.name, st.department, st.className, sa.subject) " +
+           "FROM SeatingArrangement sa JOIN sa.room r JOIN sa.seat s JOIN sa.student st " +
+           "WHERE sa.room.id = :roomId AND sa.run.id = :runId " +
+           "ORDER BY s.benchNo, s.position")
+    List<ArrangementRowDTO> findRowsByRunAndRoom(@Param("runId") Long runId, @Param("roomId") Long roomId);
+
+    /**
+     * Report rows of one subject in one room of a run, looked up through idx_room_arrangement
+     */
+    @Query("SELECT new com.seating.dto.ArrangementRowDTO(r.id, r.roomNo, s.seatNo, s.position, s.benchNo, " +
+           "st.rollNo, st.name, st.department, st.className, sa.subject) " +
+           "FROM SeatingArrangement sa JOIN sa.room r JOIN sa.seat s JOIN sa.student st " +
+           "WHERE sa.room.id = :roomId AND sa.run.id = :runId AND sa.subject = :subject " +
+           "ORDER BY s.benchNo, s.position")
+    List<ArrangementRowDTO> findRowsByRunAndRoomAndSubject(@Param("runId") Long runId,
+                                                           @Param("roomId") Long roomId,
+                                                           @Param("subject") String subject);
 
     @Modifying
     @Query("DELETE FROM SeatingArrangement")
@@ -0,0 +1,152 @@
+package com.seating.repository;
+
+import com.seating.config.BatchConfig;
+import com.seating.dto.StudentDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch reader/writer for bulk student imports.
+ *
+ * Students are addressed by roll number, their unique business key, so new rows and their
+ * subjects can be written in batches without reading generated ids back. Subjects are only ever
+ * rewritten together with their student's updated_at, which the generation's data version check
+ * relies on.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class StudentBatchRepository {
+
+    private static final String SELECT_ROLL_NOS_SQL =
+            "SELECT roll_no FROM students WHERE roll_no IN (:rollNos)";
+
+    private static final String SELECT_STUDENTS_SQL =
+            "SELECT roll_no, name, department, class_name FROM students WHERE roll_no IN (:rollNos)";
+
+    private static final String SELECT_SUBJECTS_SQL =
+            "SELECT s.roll_no, ss.subject FROM student_subjects ss " +
+            "JOIN students s ON s.id = ss.student_id WHERE s.roll_no IN (:rollNos)";
+
+    private static final String INSERT_STUDENT_SQL =
+            "INSERT INTO students (roll_no, name, department, class_name, is_allocated, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, FALSE, ?, ?)";
+
+    private static final String UPDATE_STUDENT_SQL =
+            "UPDATE students SET name = ?, department = ?, class_name = ?, updated_at = ? WHERE roll_no = ?";
+
+    private static final String DELETE_SUBJECTS_SQL =
+            "DELETE FROM student_subjects WHERE student_id = (SELECT id FROM students WHERE roll_no = ?)";
+
+    private static final String INSERT_SUBJECT_SQL =
+            "INSERT INTO student_subjects (student_id, subject) SELECT id, ? FROM students WHERE roll_no = ?";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final BatchConfig batchConfig;
+
+    /**
+     * Which of the given roll numbers already exist, in one query
+     */
+    public Set<String> findExistingRollNos(Collection<String> rollNos) {
+        if (rollNos.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                SELECT_ROLL_NOS_SQL, new MapSqlParameterSource("rollNos", rollNos), String.class));
+    }
+
+    /**
+     * Existing students (with subjects) for the given roll numbers, keyed by roll number
+     */
+    public Map<String, StudentDTO> findByRollNos(Collection<String> rollNos) {
+        Map<String, StudentDTO> students = new HashMap<>();
+        if (rollNos.isEmpty()) {
+            return students;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("rollNos", rollNos);
+        namedJdbcTemplate.query(SELECT_STUDENTS_SQL, params, rs -> {
+            students.put(rs.getString("roll_no"), StudentDTO.builder()
+                    .rollNo(rs.getString("roll_no"))
+                    .name(rs.getString("name"))
+                    .department(rs.getString("department"))
+                    .className(rs.getString("class_name"))
+                    .subjects(new HashSet<>())
+                    .build());
+        });
+        namedJdbcTemplate.query(SELECT_SUBJECTS_SQL, params, rs -> {
+            students.get(rs.getString("roll_no")).getSubjects().add(rs.getString("subject"));
+        });
+        return students;
+    }
+
+    public void insertAll(List<StudentDTO> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_STUDENT_SQL, students, batchConfig.getSize(), (ps, student) -> {
+            ps.setString(1, student.getRollNo());
+            ps.setString(2, student.getName());
+            ps.setString(3, student.getDepartment());
+            ps.setString(4, student.getClassName());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+        insertSubjects(students);
+
+        log.debug("Inserted {} students", students.size());
+    }
+
+    /**
+     * Overwrite name, department, class and subjects of existing students
+     */
+    public void updateAll(List<StudentDTO> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_STUDENT_SQL, students, batchConfig.getSize(), (ps, student) -> {
+            ps.setString(1, student.getName());
+            ps.setString(2, student.getDepartment());
+            ps.setString(3, student.getClassName());
+            ps.setTimestamp(4, now);
+            ps.setString(5, student.getRollNo());
+        });
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(DELETE_SUBJECTS_SQL, students, batchConfig.getSize(),
+                (ps, student) -> ps.setString(1, student.getRollNo()));
+        insertSubjects(students);
+
+        log.debug("Updated {} students", students.size());
+    }
+
+    private void insertSubjects(List<StudentDTO> students) {
+        List<Map.Entry<String, String>> rows = new ArrayList<>();
+        for (StudentDTO student : students) {
+            for (String subject : student.getSubjects()) {
+                rows.add(new AbstractMap.SimpleImmutableEntry<>(student.getRollNo(), subject));
+            }
+        }
+
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SUBJECT_SQL, rows, batchConfig.getSize(), (ps, row) -> {
+            ps.setString(1, row.getValue());
+            ps.setString(2, row.getKey());
+        });
+    }
+}
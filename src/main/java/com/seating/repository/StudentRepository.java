@@ -1,5 +1,6 @@
 package com.seating.repository;
 
+import com.seating.dto.DataVersionDTO;
 import com.seating.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -53,6 +54,16 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("UPDATE Student s SET s.isAllocated = false")
     void resetAllAllocations();
 
+    @Query("SELECT new com.seating.dto.DataVersionDTO(COUNT(s), MAX(s.updatedAt)) FROM Student s")
+    DataVersionDTO findDataVersion();
+
+    /**
+     * Version of student_subjects: its row count, and the latest update time of a student with subjects.
+     * Subject rows carry no timestamp, so every subject write must also set the student's updated_at.
+     */
+    @Query("SELECT new com.seating.dto.DataVersionDTO(COUNT(sub), MAX(s.updatedAt)) FROM Student s JOIN s.subjects sub")
+    DataVersionDTO findSubjectDataVersion();
+
     @Modifying
     @Query("DELETE FROM Student")
     void deleteAllStudents();
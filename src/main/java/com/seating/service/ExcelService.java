@@ -2,24 +2,55 @@ package com.seating.service;
 
 import com.seating.dto.RoomDTO;
 import com.seating.dto.StudentDTO;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Service for handling Excel operations
+ * Service for handling Excel operations, and for reading uploads exported as CSV or NDJSON
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class ExcelService {
 
+    private static final List<String> STUDENT_JSON_FIELDS = List.of("rollNo", "name", "department", "className", "subjects");
+    private static final List<String> ROOM_JSON_FIELDS = List.of("roomNo", "totalBenches", "capacity", "rCount", "mCount", "lCount");
+
+    private final TextRowReader textRowReader;
+
     /**
      * Generate student template Excel file
      */
@@ -136,78 +167,208 @@ public class ExcelService {
     }
 
     /**
-     * Parse student Excel file
+     * Parse student upload (Excel, CSV or NDJSON), handing each valid student to the consumer as soon as its row is read
+     *
+     * @return number of students handed to the consumer
      */
-    public List<StudentDTO> parseStudentExcel(MultipartFile file) throws IOException {
-        List<StudentDTO> students = new ArrayList<>();
+    public int parseStudentExcel(MultipartFile file, Consumer<StudentDTO> consumer) throws IOException {
+        AtomicInteger count = new AtomicInteger();
+
+        readRows(file, "Students", STUDENT_JSON_FIELDS, (rowNo, cells) -> {
+            StudentDTO studentDTO;
+            try {
+                studentDTO = parseStudentRow(rowNo, cells);
+            } catch (Exception e) {
+                log.error("Error parsing row {}: {}", rowNo, e.getMessage());
+                return;
+            }
+            if (studentDTO != null) {
+                consumer.accept(studentDTO);
+                count.incrementAndGet();
+            }
+        });
 
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(inputStream)) {
+        log.info("Parsed {} students from {}", count.get(), file.getOriginalFilename());
+        return count.get();
+    }
 
-            Sheet sheet = workbook.getSheet("Students");
-            if (sheet == null) {
-                sheet = workbook.getSheetAt(0);
+    /**
+     * Parse room upload (Excel, CSV or NDJSON), handing each valid room to the consumer as soon as its row is read
+     *
+     * @return number of rooms handed to the consumer
+     */
+    public int parseRoomExcel(MultipartFile file, Consumer<RoomDTO> consumer) throws IOException {
+        AtomicInteger count = new AtomicInteger();
+
+        readRows(file, "Rooms", ROOM_JSON_FIELDS, (rowNo, cells) -> {
+            RoomDTO roomDTO;
+            try {
+                roomDTO = parseRoomRow(rowNo, cells);
+            } catch (Exception e) {
+                log.error("Error parsing row {}: {}", rowNo, e.getMessage());
+                return;
+            }
+            if (roomDTO != null) {
+                consumer.accept(roomDTO);
+                count.incrementAndGet();
             }
+        });
 
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null || isRowEmpty(row)) {
-                    continue;
-                }
+        log.info("Parsed {} rooms from {}", count.get(), file.getOriginalFilename());
+        return count.get();
+    }
 
-                try {
-                    String rollNo = getCellValueAsString(row.getCell(0));
-                    String name = getCellValueAsString(row.getCell(1));
-                    String department = getCellValueAsString(row.getCell(2));
-                    String className = getCellValueAsString(row.getCell(3));
-
-                    if (rollNo.isEmpty() || name.isEmpty() || department.isEmpty() || className.isEmpty()) {
-                        log.warn("Skipping row {} due to missing required fields", i + 1);
-                        continue;
-                    }
-
-                    Set<String> subjects = new HashSet<>();
-                    for (int j = 4; j < row.getLastCellNum(); j++) {
-                        String subject = getCellValueAsString(row.getCell(j));
-                        if (!subject.isEmpty()) {
-                            subjects.add(subject.trim());
-                        }
-                    }
-
-                    if (subjects.isEmpty()) {
-                        log.warn("Skipping row {} - student {} has no subjects", i + 1, rollNo);
-                        continue;
-                    }
-
-                    StudentDTO studentDTO = StudentDTO.builder()
-                            .rollNo(rollNo.trim())
-                            .name(name.trim())
-                            .department(department.trim())
-                            .className(className.trim())
-                            .subjects(subjects)
-                            .build();
-
-                    students.add(studentDTO);
-                } catch (Exception e) {
-                    log.error("Error parsing row {}: {}", i + 1, e.getMessage());
-                }
+    private StudentDTO parseStudentRow(int rowNo, List<String> cells) {
+        String rollNo = cellAt(cells, 0);
+        String name = cellAt(cells, 1);
+        String department = cellAt(cells, 2);
+        String className = cellAt(cells, 3);
+
+        if (rollNo.isEmpty() || name.isEmpty() || department.isEmpty() || className.isEmpty()) {
+            log.warn("Skipping row {} due to missing required fields", rowNo);
+            return null;
+        }
+
+        Set<String> subjects = new HashSet<>();
+        for (int j = 4; j < cells.size(); j++) {
+            String subject = cellAt(cells, j);
+            if (!subject.isEmpty()) {
+                subjects.add(subject.trim());
             }
         }
 
-        log.info("Parsed {} students from Excel file", students.size());
-        return students;
+        if (subjects.isEmpty()) {
+            log.warn("Skipping row {} - student {} has no subjects", rowNo, rollNo);
+            return null;
+        }
+
+        return StudentDTO.builder()
+                .rollNo(rollNo.trim())
+                .name(name.trim())
+                .department(department.trim())
+                .className(className.trim())
+                .subjects(subjects)
+                .build();
+    }
+
+    private RoomDTO parseRoomRow(int rowNo, List<String> cells) {
+        String roomNo = cellAt(cells, 0);
+        Integer totalBenches = toInteger(cellAt(cells, 1));
+        Integer capacity = toInteger(cellAt(cells, 2));
+        Integer rCount = toInteger(cellAt(cells, 3));
+        Integer mCount = toInteger(cellAt(cells, 4));
+        Integer lCount = toInteger(cellAt(cells, 5));
+
+        if (roomNo.isEmpty() || totalBenches == null || capacity == null ||
+            rCount == null || mCount == null || lCount == null) {
+            log.warn("Skipping row {} due to missing required fields", rowNo);
+            return null;
+        }
+
+        if (capacity != (rCount + mCount + lCount)) {
+            log.warn("Row {}: Capacity mismatch. Expected {}, got {}",
+                    rowNo, (rCount + mCount + lCount), capacity);
+        }
+
+        return RoomDTO.builder()
+                .roomNo(roomNo.trim())
+                .totalBenches(totalBenches)
+                .capacity(capacity)
+                .rCount(rCount)
+                .mCount(mCount)
+                .lCount(lCount)
+                .build();
     }
 
     /**
-     * Parse room Excel file
+     * Read the data rows (everything below the header row) of the named sheet, or of the first
+     * sheet when there is none by that name. Empty rows are skipped.
+     * .csv files and JSON files (.ndjson and .jsonl with one object per line, .json with either
+     * that or one array of objects, each with the given fields) are streamed by the {@link TextRowReader}. .xlsx files are streamed through the SAX
+     * event reader in constant memory; other formats (.xls) are loaded as a workbook.
      */
-    public List<RoomDTO> parseRoomExcel(MultipartFile file) throws IOException {
-        List<RoomDTO> rooms = new ArrayList<>();
+    private void readRows(MultipartFile file, String sheetName, List<String> jsonFields,
+                          SheetRowHandler handler) throws IOException {
+        String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
+        if ("csv".equalsIgnoreCase(extension)) {
+            try (ReadableByteChannel channel = Channels.newChannel(file.getInputStream())) {
+                textRowReader.readCsv(channel, handler::accept);
+            }
+            return;
+        }
+        if ("ndjson".equalsIgnoreCase(extension) || "jsonl".equalsIgnoreCase(extension) ||
+            "json".equalsIgnoreCase(extension)) {
+            try (ReadableByteChannel channel = Channels.newChannel(file.getInputStream())) {
+                textRowReader.readJson(channel, jsonFields, handler::accept);
+            }
+            return;
+        }
+
+        boolean xlsx;
+        try (InputStream inputStream = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+            xlsx = FileMagic.valueOf(inputStream) == FileMagic.OOXML;
+        }
+
+        if (xlsx) {
+            readXlsxRows(file, sheetName, handler);
+        } else {
+            readWorkbookRows(file, sheetName, handler);
+        }
+    }
+
+    private void readXlsxRows(MultipartFile file, String sheetName, SheetRowHandler handler) throws IOException {
+        // Opening the package from a file reads sheet parts straight from the zip instead of buffering them
+        Path tempFile = Files.createTempFile("upload-", ".xlsx");
+        OPCPackage pkg = null;
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ);
+
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, null, strings, new RowCollector(handler), new CellValueFormatter(), true));
+
+            try (InputStream sheet = openSheet(reader, sheetName)) {
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Failed to read Excel file: " + e.getMessage(), e);
+        } finally {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            Files.deleteIfExists(tempFile);
+        }
+    }
 
+    private InputStream openSheet(XSSFReader reader, String sheetName) throws IOException, InvalidFormatException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            if (sheetName.equals(sheets.getSheetName())) {
+                return sheet;
+            }
+            sheet.close();
+        }
+
+        Iterator<InputStream> firstSheet = reader.getSheetsData();
+        if (!firstSheet.hasNext()) {
+            throw new IOException("Excel file has no sheets");
+        }
+        return firstSheet.next();
+    }
+
+    private void readWorkbookRows(MultipartFile file, String sheetName, SheetRowHandler handler) throws IOException {
         try (InputStream inputStream = file.getInputStream();
              Workbook workbook = WorkbookFactory.create(inputStream)) {
 
-            Sheet sheet = workbook.getSheet("Rooms");
+            Sheet sheet = workbook.getSheet(sheetName);
             if (sheet == null) {
                 sheet = workbook.getSheetAt(0);
             }
@@ -218,43 +379,29 @@ public class ExcelService {
                     continue;
                 }
 
-                try {
-                    String roomNo = getCellValueAsString(row.getCell(0));
-                    Integer totalBenches = getCellValueAsInteger(row.getCell(1));
-                    Integer capacity = getCellValueAsInteger(row.getCell(2));
-                    Integer rCount = getCellValueAsInteger(row.getCell(3));
-                    Integer mCount = getCellValueAsInteger(row.getCell(4));
-                    Integer lCount = getCellValueAsInteger(row.getCell(5));
-
-                    if (roomNo.isEmpty() || totalBenches == null || capacity == null ||
-                        rCount == null || mCount == null || lCount == null) {
-                        log.warn("Skipping row {} due to missing required fields", i + 1);
-                        continue;
-                    }
-
-                    if (capacity != (rCount + mCount + lCount)) {
-                        log.warn("Row {}: Capacity mismatch. Expected {}, got {}",
-                                i + 1, (rCount + mCount + lCount), capacity);
-                    }
-
-                    RoomDTO roomDTO = RoomDTO.builder()
-                            .roomNo(roomNo.trim())
-                            .totalBenches(totalBenches)
-                            .capacity(capacity)
-                            .rCount(rCount)
-                            .mCount(mCount)
-                            .lCount(lCount)
-                            .build();
-
-                    rooms.add(roomDTO);
-                } catch (Exception e) {
-                    log.error("Error parsing row {}: {}", i + 1, e.getMessage());
+                List<String> cells = new ArrayList<>();
+                for (int j = 0; j < row.getLastCellNum(); j++) {
+                    cells.add(getCellValueAsString(row.getCell(j)));
                 }
+                handler.accept(i + 1, cells);
             }
         }
+    }
 
-        log.info("Parsed {} rooms from Excel file", rooms.size());
-        return rooms;
+    private String cellAt(List<String> cells, int index) {
+        return index < cells.size() ? cells.get(index) : "";
+    }
+
+    private Integer toInteger(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.error("Error converting cell to integer: {}", e.getMessage());
+            return null;
+        }
     }
 
     private CellStyle createHeaderStyle(Workbook workbook) {
@@ -293,22 +440,6 @@ public class ExcelService {
         }
     }
 
-    private Integer getCellValueAsInteger(Cell cell) {
-        if (cell == null) {
-            return null;
-        }
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return (int) cell.getNumericCellValue();
-            } else if (cell.getCellType() == CellType.STRING) {
-                return Integer.parseInt(cell.getStringCellValue().trim());
-            }
-        } catch (Exception e) {
-            log.error("Error converting cell to integer: {}", e.getMessage());
-        }
-        return null;
-    }
-
     private boolean isRowEmpty(Row row) {
         for (int c = row.getFirstCellNum(); c < row.getLastCellNum(); c++) {
             Cell cell = row.getCell(c);
@@ -319,4 +450,61 @@ public class ExcelService {
         }
         return true;
     }
+
+    /**
+     * Receives one sheet row: its 1-based row number and its cell values as text, empty for blank cells
+     */
+    @FunctionalInterface
+    private interface SheetRowHandler {
+        void accept(int rowNo, List<String> cells);
+    }
+
+    /**
+     * Collects the cells of each streamed row and passes non-empty data rows to the handler
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final SheetRowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        RowCollector(SheetRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Row 0 is the header
+            if (rowNum == 0 || cells.stream().allMatch(String::isEmpty)) {
+                return;
+            }
+            handler.accept(rowNum + 1, new ArrayList<>(cells));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+
+    /**
+     * Formats streamed numeric cells the way getCellValueAsString reads them from a workbook:
+     * whole numbers, or the Java date for date-formatted cells
+     */
+    private static class CellValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getJavaDate(value, use1904Windowing).toString();
+            }
+            return String.valueOf((long) value);
+        }
+    }
 }
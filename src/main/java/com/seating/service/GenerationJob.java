@@ -0,0 +1,127 @@
+package com.seating.service;
+
+import com.seating.dto.GenerationJobDTO;
+import com.seating.dto.SeatingFilterDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * A seating generation running (or waiting to run) on the generation executor
+ */
+@Getter
+public class GenerationJob implements GenerationProgress {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String id;
+    private final SeatingFilterDTO filter;
+    private final Set<Long> roomIds;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<GenerationJob> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Phase phase = Phase.QUEUED;
+    private volatile int seatsFilled;
+    private volatile int totalStudents;
+    private volatile boolean cancelRequested;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+    private volatile Map<String, Object> result;
+    private volatile Future<?> future;
+
+    GenerationJob(String id, SeatingFilterDTO filter, Set<Long> roomIds) {
+        this.id = id;
+        this.filter = filter;
+        this.roomIds = roomIds;
+    }
+
+    @Override
+    public void phase(Phase phase) {
+        this.phase = phase;
+    }
+
+    @Override
+    public void totalStudents(int totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    @Override
+    public void seatsFilled(int seatsFilled) {
+        this.seatsFilled = seatsFilled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    public boolean isFinished() {
+        return completion.isDone();
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void requestCancel() {
+        this.cancelRequested = true;
+    }
+
+    void started() {
+        this.status = Status.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    void completed(Map<String, Object> result) {
+        this.result = result;
+        this.message = String.valueOf(result.get("message"));
+        this.phase = Phase.DONE;
+        finish(Status.COMPLETED);
+    }
+
+    void failed(String message) {
+        this.message = message;
+        finish(Status.FAILED);
+    }
+
+    void cancelled() {
+        this.message = "Generation cancelled";
+        finish(Status.CANCELLED);
+    }
+
+    private void finish(Status status) {
+        if (completion.isDone()) {
+            return;
+        }
+        this.status = status;
+        this.finishedAt = LocalDateTime.now();
+        completion.complete(this);
+    }
+
+    public GenerationJobDTO toDTO() {
+        return GenerationJobDTO.builder()
+                .jobId(id)
+                .status(status.name())
+                .phase(phase.name())
+                .seatsFilled(seatsFilled)
+                .totalStudents(totalStudents)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .message(message)
+                .result(result)
+                .build();
+    }
+}
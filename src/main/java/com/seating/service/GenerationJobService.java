@@ -0,0 +1,156 @@
+package com.seating.service;
+
+import com.seating.allocation.AllocationCancelledException;
+import com.seating.config.GenerationConfig;
+import com.seating.dto.SeatingFilterDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Runs seating generation on a bounded background executor so request threads stay free.
+ * Submitting the same filter while a job for it is still queued or running returns that job.
+ * Each job holds its rooms from submission until it finishes, so only jobs over disjoint
+ * room sets run concurrently.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationJobService {
+
+    private final SeatingArrangementService seatingService;
+    private final GenerationConfig generationConfig;
+    private final RoomLockService roomLockService;
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final Map<SeatingFilterDTO, GenerationJob> activeJobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        executor = new ThreadPoolExecutor(
+                generationConfig.getThreads(), generationConfig.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(generationConfig.getQueueCapacity()),
+                new CustomizableThreadFactory("seating-generation-"));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        jobs.values().forEach(GenerationJob::requestCancel);
+        executor.shutdownNow();
+    }
+
+    public GenerationJob submit(SeatingFilterDTO filter) {
+        SeatingFilterDTO key = copyOf(filter);
+        // A database query, so it runs before taking the lock that coalescing and reservation need
+        Set<Long> roomIds = seatingService.resolveRoomIds(key);
+
+        GenerationJob job;
+        synchronized (this) {
+            GenerationJob active = activeJobs.get(key);
+            if (active != null && !active.isFinished()) {
+                log.info("Generation job {} already running for this filter, joining it", active.getId());
+                return active;
+            }
+
+            pruneFinishedJobs();
+
+            String jobId = UUID.randomUUID().toString();
+            roomLockService.reserve(roomIds, jobId);
+
+            job = new GenerationJob(jobId, key, roomIds);
+            jobs.put(job.getId(), job);
+            activeJobs.put(key, job);
+
+            try {
+                job.setFuture(executor.submit(() -> run(job)));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.getId());
+                release(job);
+                throw new IllegalStateException("Too many seating generation jobs are queued. Please try again shortly.");
+            }
+        }
+
+        log.info("Submitted generation job {}", job.getId());
+        return job;
+    }
+
+    public Optional<GenerationJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public Optional<GenerationJob> cancel(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null || job.isFinished()) {
+            return Optional.ofNullable(job);
+        }
+
+        job.requestCancel();
+        // A job that has not started yet will never run, so finish it here
+        if (job.getFuture() != null && job.getFuture().cancel(false)) {
+            release(job);
+            job.cancelled();
+        }
+        log.info("Cancellation requested for generation job {}", jobId);
+        return Optional.of(job);
+    }
+
+    private void run(GenerationJob job) {
+        Runnable finish;
+        try {
+            if (job.isCancelled()) {
+                finish = job::cancelled;
+            } else {
+                job.started();
+                Map<String, Object> result = seatingService.generateSeatingArrangement(job.getFilter(), job);
+                finish = () -> job.completed(result);
+            }
+        } catch (AllocationCancelledException e) {
+            log.info("Generation job {} cancelled: {}", job.getId(), e.getMessage());
+            finish = job::cancelled;
+        } catch (Throwable e) {
+            if (e instanceof Error) {
+                // Exceptions are logged by the seating service; errors would otherwise go unreported
+                log.error("Generation job {} failed", job.getId(), e);
+            }
+            String message = e.getMessage() != null ? e.getMessage() : e.toString();
+            finish = () -> job.failed(message);
+        }
+        // Free the rooms first, so a client that sees the job finished can submit again right away
+        release(job);
+        finish.run();
+    }
+
+    private void release(GenerationJob job) {
+        activeJobs.remove(job.getFilter(), job);
+        roomLockService.release(job.getRoomIds(), job.getId());
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(generationConfig.getJobRetentionMinutes());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private SeatingFilterDTO copyOf(SeatingFilterDTO filter) {
+        return SeatingFilterDTO.builder()
+                .departments(filter.getDepartments() == null ? null : new HashSet<>(filter.getDepartments()))
+                .classes(filter.getClasses() == null ? null : new HashSet<>(filter.getClasses()))
+                .subjects(filter.getSubjects() == null ? null : new HashSet<>(filter.getSubjects()))
+                .arrangementName(filter.getArrangementName())
+                .session(filter.getSession())
+                .roomIds(filter.getRoomIds() == null ? null : new HashSet<>(filter.getRoomIds()))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.seating.service;
+
+import com.seating.allocation.AllocationMonitor;
+
+/**
+ * Receives progress from {@link SeatingArrangementService#generateSeatingArrangement} and can
+ * cancel it between phases and between rooms
+ */
+public interface GenerationProgress extends AllocationMonitor {
+
+    GenerationProgress NONE = new GenerationProgress() {
+    };
+
+    enum Phase {
+        QUEUED,
+        LOADING,
+        ALLOCATING,
+        SAVING,
+        DONE
+    }
+
+    default void phase(Phase phase) {
+    }
+
+    /**
+     * Number of students the run is trying to seat, known once students are loaded
+     */
+    default void totalStudents(int totalStudents) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.seating.service;
+
+import com.seating.config.BatchConfig;
+import com.seating.config.IngestConfig;
+import com.seating.dto.IngestStatsDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Producer/consumer pipeline for uploads. The calling thread parses the file and hands rows over in
+ * batches of seating.batch.size through a bounded queue; a writer thread persists them meanwhile, so
+ * parsing and database writes overlap and at most the queued batches are held in memory.
+ *
+ * All batches of one upload are written in a single transaction on the writer thread, so a failed
+ * upload, whether it fails while parsing or while writing, leaves the database unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngestPipeline {
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final BatchConfig batchConfig;
+    private final IngestConfig ingestConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor writerExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        int threads = Math.max(1, ingestConfig.getWriterThreads());
+        writerExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("ingest-writer-"));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        writerExecutor.shutdownNow();
+    }
+
+    /**
+     * Reads every row from the source and writes them in batches, returning once all batches are committed
+     */
+    public <T> IngestStatsDTO run(String name, RowSource<T> source, BatchWriter<T> writer) throws Exception {
+        Run<T> run = new Run<>(new ArrayBlockingQueue<>(Math.max(1, ingestConfig.getQueueCapacity())));
+        long start = System.nanoTime();
+        Future<?> writing = writerExecutor.submit(() -> write(run, writer));
+
+        int rows;
+        try {
+            rows = source.read(row -> {
+                run.batch.add(row);
+                if (run.batch.size() >= batchConfig.getSize()) {
+                    hand(run, writing, run.batch);
+                    run.batch = new ArrayList<>(batchConfig.getSize());
+                }
+            });
+            if (!run.batch.isEmpty()) {
+                hand(run, writing, run.batch);
+            }
+            hand(run, writing, run.endOfInput());
+        } catch (Exception | Error e) {
+            // Stop the writer and let it roll back before reporting the parse failure
+            run.aborted = true;
+            run.queue.clear();
+            run.queue.offer(run.endOfInput());
+            awaitQuietly(writing);
+            throw e;
+        }
+        run.parseNanos = System.nanoTime() - start - run.parseWaitNanos;
+
+        await(writing);
+        IngestStatsDTO stats = run.toStats(rows, System.nanoTime() - start);
+        log.info("{} pipeline: {} rows in {} batches in {} ms; parse {} ms ({} rows/s, {} ms waiting for the writer), " +
+                        "write {} ms ({} rows/s, {} ms waiting for the parser)",
+                name, stats.getRows(), stats.getBatches(), stats.getElapsedMillis(),
+                stats.getParseMillis(), Math.round(stats.getParseRowsPerSecond()), stats.getParseWaitMillis(),
+                stats.getWriteMillis(), Math.round(stats.getWriteRowsPerSecond()), stats.getWriteWaitMillis());
+        return stats;
+    }
+
+    /**
+     * Blocks while the queue is full, but gives up as soon as the writer has failed
+     */
+    private <T> void hand(Run<T> run, Future<?> writing, List<T> batch) {
+        long waitStart = System.nanoTime();
+        try {
+            while (!run.queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writing.isDone()) {
+                    await(writing);
+                    throw new IllegalStateException("Upload writer stopped before all rows were written");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Upload interrupted", e);
+        }
+        run.parseWaitNanos += System.nanoTime() - waitStart;
+    }
+
+    private <T> void write(Run<T> run, BatchWriter<T> writer) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                while (true) {
+                    long waitStart = System.nanoTime();
+                    List<T> batch = run.queue.take();
+                    long writeStart = System.nanoTime();
+                    run.writeWaitNanos += writeStart - waitStart;
+
+                    if (run.aborted) {
+                        throw new IllegalStateException("Upload aborted while parsing");
+                    }
+                    if (batch == run.endOfInput()) {
+                        return;
+                    }
+                    writer.write(batch);
+                    run.writtenRows += batch.size();
+                    run.batches++;
+                    run.writeNanos += System.nanoTime() - writeStart;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Upload writer interrupted", e);
+            }
+        });
+    }
+
+    /**
+     * Waits for the writer and rethrows its failure as is; the writer only throws unchecked exceptions
+     */
+    private static void await(Future<?> writing) throws InterruptedException {
+        try {
+            writing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void awaitQuietly(Future<?> writing) {
+        try {
+            writing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Upload writer stopped: {}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Reads all rows of a file into the sink and returns how many were read
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        int read(Consumer<T> sink) throws Exception;
+    }
+
+    /**
+     * Persists one batch of rows; called on the writer thread inside the upload's transaction
+     */
+    @FunctionalInterface
+    public interface BatchWriter<T> {
+        void write(List<T> batch);
+    }
+
+    /**
+     * State of one upload. Parse counters belong to the calling thread and write counters to the
+     * writer thread; both are read only after the writer has finished.
+     */
+    private final class Run<T> {
+        private final BlockingQueue<List<T>> queue;
+        private final List<T> end = new ArrayList<>(0);
+        private List<T> batch = new ArrayList<>(batchConfig.getSize());
+        private volatile boolean aborted;
+
+        private long parseNanos;
+        private long parseWaitNanos;
+        private long writeNanos;
+        private long writeWaitNanos;
+        private int writtenRows;
+        private int batches;
+
+        Run(BlockingQueue<List<T>> queue) {
+            this.queue = queue;
+        }
+
+        List<T> endOfInput() {
+            return end;
+        }
+
+        IngestStatsDTO toStats(int rows, long elapsedNanos) {
+            return IngestStatsDTO.builder()
+                    .rows(rows)
+                    .batches(batches)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .parseMillis(TimeUnit.NANOSECONDS.toMillis(parseNanos))
+                    .parseWaitMillis(TimeUnit.NANOSECONDS.toMillis(parseWaitNanos))
+                    .parseRowsPerSecond(perSecond(rows, parseNanos))
+                    .writeMillis(TimeUnit.NANOSECONDS.toMillis(writeNanos))
+                    .writeWaitMillis(TimeUnit.NANOSECONDS.toMillis(writeWaitNanos))
+                    .writeRowsPerSecond(perSecond(writtenRows, writeNanos))
+                    .build();
+        }
+
+        private double perSecond(int count, long nanos) {
+            return nanos == 0 ? 0.0 : count * 1_000_000_000.0 / nanos;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.seating.service;
+
+import com.itextpdf.text.DocumentException;
+import com.seating.config.PdfCacheConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded LRU cache of rendered PDFs on local disk.
+ *
+ * A file is addressed by the SHA-256 of its run id and render parameters, and lives in a
+ * directory per run so a deleted run's files are dropped together. Concurrent requests for a
+ * PDF that is not cached yet share a single render. Hits are sent from the file with
+ * FileChannel transfers instead of being rendered again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfFileCache {
+
+    private static final String RUN_DIRECTORY_PREFIX = "run-";
+
+    private final PdfCacheConfig config;
+
+    // Access-ordered: iteration starts at the least recently used file
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Rendering> rendering = new HashMap<>();
+    private Path directory;
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Run ids are not stable across restarts (e.g. with an in-memory database), so files left by
+     * an earlier process are never reused. Only the cache's own run directories are removed, since
+     * the configured directory may be shared.
+     */
+    @PostConstruct
+    void clearDirectory() throws IOException {
+        directory = Path.of(config.getDirectory());
+        Files.createDirectories(directory);
+        deleteRunDirectories();
+    }
+
+    /**
+     * Sends the PDF for these parameters to the stream, rendering it into the cache first on a miss
+     */
+    public void send(Long runId, List<?> params, PdfRenderer renderer, OutputStream out) throws IOException, DocumentException {
+        if (!config.isEnabled()) {
+            renderer.render(out);
+            return;
+        }
+
+        Path file = getOrRender(runId, hash(runId, params), renderer);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = channel.size();
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        } catch (NoSuchFileException e) {
+            // Evicted or purged between rendering and sending
+            log.debug("Cached PDF {} disappeared before it was sent, rendering directly", file);
+            renderer.render(out);
+        }
+    }
+
+    /**
+     * Drops every cached PDF of a run, including renders still in progress
+     */
+    public void purgeRun(Long runId) {
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.runId.equals(runId)) {
+                    it.remove();
+                    totalBytes -= entry.size;
+                }
+            }
+            rendering.values().removeIf(r -> r.runId.equals(runId));
+        }
+        deleteQuietly(runDirectory(runId));
+        log.debug("Purged cached PDFs of run {}", runId);
+    }
+
+    public void purgeAll() {
+        synchronized (this) {
+            entries.clear();
+            rendering.clear();
+            totalBytes = 0;
+        }
+        deleteRunDirectories();
+        log.debug("PDF cache cleared");
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long requests = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("files", entries.size());
+        stats.put("sizeBytes", totalBytes);
+        stats.put("maxSizeMb", config.getMaxSizeMb());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    private Path getOrRender(Long runId, String hash, PdfRenderer renderer) throws IOException, DocumentException {
+        Rendering pending;
+        boolean render = false;
+
+        synchronized (this) {
+            Entry entry = entries.get(hash);
+            if (entry != null) {
+                hits++;
+                return entry.file;
+            }
+            pending = rendering.get(hash);
+            if (pending == null) {
+                pending = new Rendering(runId);
+                rendering.put(hash, pending);
+                misses++;
+                render = true;
+            } else {
+                hits++;
+            }
+        }
+
+        if (render) {
+            try {
+                Path file = renderToFile(runId, hash, renderer);
+                synchronized (this) {
+                    // Only index the file if its run was not purged while rendering
+                    if (rendering.remove(hash, pending)) {
+                        add(hash, new Entry(runId, file, Files.size(file)));
+                    }
+                }
+                pending.future.complete(file);
+            } catch (IOException | DocumentException | RuntimeException e) {
+                synchronized (this) {
+                    rendering.remove(hash, pending);
+                }
+                pending.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return pending.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof DocumentException de) {
+                throw de;
+            }
+            throw cause instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    private Path renderToFile(Long runId, String hash, PdfRenderer renderer) throws IOException, DocumentException {
+        Path runDirectory = Files.createDirectories(runDirectory(runId));
+        Path tempFile = Files.createTempFile(runDirectory, hash, ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                renderer.render(out);
+            }
+            return Files.move(tempFile, runDirectory.resolve(hash + ".pdf"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | DocumentException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    private void add(String hash, Entry entry) {
+        Entry replaced = entries.put(hash, entry);
+        if (replaced != null) {
+            totalBytes -= replaced.size;
+        }
+        totalBytes += entry.size;
+
+        // The newest file always stays, even when it alone is over the limit
+        long maxBytes = config.getMaxSizeMb() * 1024L * 1024L;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= evicted.size;
+            evictions++;
+            deleteQuietly(evicted.file);
+        }
+    }
+
+    private Path runDirectory(Long runId) {
+        return directory.resolve(RUN_DIRECTORY_PREFIX + runId);
+    }
+
+    private void deleteRunDirectories() {
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.filter(path -> Files.isDirectory(path) && path.getFileName().toString().startsWith(RUN_DIRECTORY_PREFIX))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not list PDF cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException e) {
+            log.warn("Could not delete cached PDF {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String hash(Long runId, List<?> params) {
+        String key = runId + "|" + params.stream().map(String::valueOf).collect(Collectors.joining("|"));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Writes a PDF to the given stream
+     */
+    @FunctionalInterface
+    public interface PdfRenderer {
+        void render(OutputStream out) throws DocumentException;
+    }
+
+    /**
+     * A cached file, the run it belongs to and its size
+     */
+    private static final class Entry {
+        private final Long runId;
+        private final Path file;
+        private final long size;
+
+        Entry(Long runId, Path file, long size) {
+            this.runId = runId;
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A render in progress that other requests for the same file wait on
+     */
+    private static final class Rendering {
+        private final Long runId;
+        private final CompletableFuture<Path> future = new CompletableFuture<>();
+
+        Rendering(Long runId) {
+            this.runId = runId;
+        }
+    }
+}
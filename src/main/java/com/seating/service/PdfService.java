@@ -2,108 +2,174 @@ package com.seating.service;
 
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
+import com.seating.config.PdfRenderConfig;
 import com.seating.config.ReportConfig;
 import com.seating.dto.ConsolidatedReportDTO;
 import com.seating.dto.JuniorSupervisorReportDTO;
 import com.seating.dto.RoomReportDTO;
 import com.seating.dto.SeatAllocationDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Service for generating PDF reports
+ * Service for generating PDF reports.
+ * Multi-room booklets build each room's pages on a bounded pool, then a single thread adds
+ * them to the document in list order, since an iText Document is not thread-safe.
+ * Static header and footer blocks are rendered once per document into form XObjects that
+ * every page refers to.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class PdfService {
 
+    private static final int MAX_CACHED_FONT_SIZES = 32;
+    private static final float MAX_TEMPLATE_HEIGHT = 10000f;
+
+    // Fixed fonts of the Junior Supervisor form, which does not scale with the requested font size
+    private static final Font JS_COLLEGE_BOLD_FONT = new Font(Font.FontFamily.HELVETICA, 11, Font.BOLD);
+    private static final Font JS_COLLEGE_NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 9, Font.NORMAL);
+    private static final Font JS_TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD | Font.UNDERLINE);
+    private static final Font JS_LABEL_FONT = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD);
+    private static final Font JS_VALUE_FONT = new Font(Font.FontFamily.HELVETICA, 9, Font.NORMAL);
+    private static final Font JS_TABLE_HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
+    private static final Font JS_TABLE_CELL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+
     private final ReportConfig reportConfig;
+    private final PdfRenderConfig pdfRenderConfig;
+
+    private final Map<String, FontSizes> fontSizesCache = new ConcurrentHashMap<>();
+    private ExecutorService renderExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        int threads = Math.max(1, pdfRenderConfig.getThreads());
+        renderExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("pdf-render-"));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        renderExecutor.shutdownNow();
+    }
 
-    public byte[] generateRoomReportPdf(RoomReportDTO report, LocalDate date, String fontSize) throws DocumentException {
+    public void generateRoomReportPdf(RoomReportDTO report, LocalDate date, String fontSize, OutputStream out) throws DocumentException {
         FontSizes fonts = getFontSizes(fontSize);
         Document document = new Document(PageSize.A4, 36, 36, 36, 36);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         try {
-            PdfWriter.getInstance(document, outputStream);
-            document.open();
+            PdfWriter writer = openDocument(document, out);
+            Image collegeHeader = createCollegeHeader(writer, document, fonts);
 
-            // Add college header
-            addCollegeHeader(document, fonts);
+            writeRoomReport(document, report, date, fonts, collegeHeader);
 
-            Paragraph title = new Paragraph("Individual Room Report", fonts.titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
+            document.close();
+            log.info("Generated PDF report for room {}", report.getRoomNo());
 
-            document.add(new Paragraph(" "));
+        } catch (Exception e) {
+            log.error("Error generating PDF: {}", e.getMessage(), e);
+            throw new DocumentException("Failed to generate PDF: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the document on the caller's stream (e.g. the servlet response), which stays open after the document is closed.
+     * Images keep their place in the flow, so header and footer templates are never moved past the text after them.
+     */
+    private PdfWriter openDocument(Document document, OutputStream out) throws DocumentException {
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        writer.setStrictImageSequence(true);
+        document.open();
+        return writer;
+    }
 
-            Paragraph roomInfo = new Paragraph("Room No: " + report.getRoomNo(), fonts.headerFont);
-            document.add(roomInfo);
+    /**
+     * Writes one room's report to the document, or to any other element target
+     */
+    private void writeRoomReport(ElementListener document, RoomReportDTO report, LocalDate date, FontSizes fonts,
+            Image collegeHeader) throws DocumentException {
+        // Add college header
+        addCollegeHeader(document, collegeHeader);
 
-            Paragraph dateInfo = new Paragraph("Date: " + date, fonts.normalFont);
-            document.add(dateInfo);
+        Paragraph title = new Paragraph("Individual Room Report", fonts.titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
 
-            Paragraph deptInfo = new Paragraph("Departments: " + String.join(", ", report.getDepartments()), fonts.normalFont);
-            document.add(deptInfo);
+        document.add(new Paragraph(" "));
 
-            Paragraph subjInfo = new Paragraph("Subjects: " + String.join(", ", report.getSubjects()), fonts.normalFont);
-            document.add(subjInfo);
+        Paragraph roomInfo = new Paragraph("Room No: " + report.getRoomNo(), fonts.headerFont);
+        document.add(roomInfo);
 
-            document.add(new Paragraph(" "));
+        Paragraph dateInfo = new Paragraph("Date: " + date, fonts.normalFont);
+        document.add(dateInfo);
 
-            PdfPTable mainTable = new PdfPTable(3);
-            mainTable.setWidthPercentage(100);
+        Paragraph deptInfo = new Paragraph("Departments: " + String.join(", ", report.getDepartments()), fonts.normalFont);
+        document.add(deptInfo);
 
-            PdfPCell rightHeader = createHeaderCell("Right Seats (R)", fonts);
-            PdfPCell middleHeader = createHeaderCell("Middle Seats (M)", fonts);
-            PdfPCell leftHeader = createHeaderCell("Left Seats (L)", fonts);
+        Paragraph subjInfo = new Paragraph("Subjects: " + String.join(", ", report.getSubjects()), fonts.normalFont);
+        document.add(subjInfo);
 
-            mainTable.addCell(rightHeader);
-            mainTable.addCell(middleHeader);
-            mainTable.addCell(leftHeader);
+        document.add(new Paragraph(" "));
 
-            PdfPTable rightTable = createSeatTable(fonts);
-            PdfPTable middleTable = createSeatTable(fonts);
-            PdfPTable leftTable = createSeatTable(fonts);
+        PdfPTable mainTable = new PdfPTable(3);
+        mainTable.setWidthPercentage(100);
 
-            addSeatsToTable(rightTable, report.getRightSeats(), fonts);
-            addSeatsToTable(middleTable, report.getMiddleSeats(), fonts);
-            addSeatsToTable(leftTable, report.getLeftSeats(), fonts);
+        PdfPCell rightHeader = createHeaderCell("Right Seats (R)", fonts);
+        PdfPCell middleHeader = createHeaderCell("Middle Seats (M)", fonts);
+        PdfPCell leftHeader = createHeaderCell("Left Seats (L)", fonts);
 
-            PdfPCell rightCell = new PdfPCell(rightTable);
-            rightCell.setBorder(Rectangle.NO_BORDER);
-            rightCell.setPadding(5);
+        mainTable.addCell(rightHeader);
+        mainTable.addCell(middleHeader);
+        mainTable.addCell(leftHeader);
 
-            PdfPCell middleCell = new PdfPCell(middleTable);
-            middleCell.setBorder(Rectangle.NO_BORDER);
-            middleCell.setPadding(5);
+        PdfPTable rightTable = createSeatTable(fonts);
+        PdfPTable middleTable = createSeatTable(fonts);
+        PdfPTable leftTable = createSeatTable(fonts);
 
-            PdfPCell leftCell = new PdfPCell(leftTable);
-            leftCell.setBorder(Rectangle.NO_BORDER);
-            leftCell.setPadding(5);
+        addSeatsToTable(rightTable, report.getRightSeats(), fonts);
+        addSeatsToTable(middleTable, report.getMiddleSeats(), fonts);
+        addSeatsToTable(leftTable, report.getLeftSeats(), fonts);
 
-            mainTable.addCell(rightCell);
-            mainTable.addCell(middleCell);
-            mainTable.addCell(leftCell);
+        PdfPCell rightCell = new PdfPCell(rightTable);
+        rightCell.setBorder(Rectangle.NO_BORDER);
+        rightCell.setPadding(5);
 
-            document.add(mainTable);
+        PdfPCell middleCell = new PdfPCell(middleTable);
+        middleCell.setBorder(Rectangle.NO_BORDER);
+        middleCell.setPadding(5);
 
-            document.close();
-            log.info("Generated PDF report for room {}", report.getRoomNo());
+        PdfPCell leftCell = new PdfPCell(leftTable);
+        leftCell.setBorder(Rectangle.NO_BORDER);
+        leftCell.setPadding(5);
 
-            return outputStream.toByteArray();
+        mainTable.addCell(rightCell);
+        mainTable.addCell(middleCell);
+        mainTable.addCell(leftCell);
 
-        } catch (Exception e) {
-            log.error("Error generating PDF: {}", e.getMessage(), e);
-            throw new DocumentException("Failed to generate PDF: " + e.getMessage());
-        }
+        document.add(mainTable);
     }
 
     private PdfPCell createHeaderCell(String text, FontSizes fonts) {
@@ -145,17 +211,15 @@ public class PdfService {
         }
     }
 
-    public byte[] generateConsolidatedReportPdf(List<ConsolidatedReportDTO> report, LocalDate date, String fontSize) throws DocumentException {
+    public void generateConsolidatedReportPdf(List<ConsolidatedReportDTO> report, LocalDate date, String fontSize, OutputStream out) throws DocumentException {
         FontSizes fonts = getFontSizes(fontSize);
         Document document = new Document(PageSize.A4, 36, 36, 36, 36);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         try {
-            PdfWriter.getInstance(document, outputStream);
-            document.open();
+            PdfWriter writer = openDocument(document, out);
 
             // Add college header
-            addCollegeHeader(document, fonts);
+            addCollegeHeader(document, createCollegeHeader(writer, document, fonts));
 
             Paragraph title = new Paragraph("Consolidated Report", fonts.titleFont);
             title.setAlignment(Element.ALIGN_CENTER);
@@ -193,39 +257,29 @@ public class PdfService {
             document.close();
             log.info("Generated consolidated PDF report for date {}", date);
 
-            return outputStream.toByteArray();
-
         } catch (Exception e) {
             log.error("Error generating consolidated PDF: {}", e.getMessage(), e);
             throw new DocumentException("Failed to generate consolidated PDF: " + e.getMessage());
         }
     }
 
-    public byte[] generateMergedRoomReportsPdf(List<RoomReportDTO> reports, LocalDate date, String fontSize) throws DocumentException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    public void generateMergedRoomReportsPdf(List<RoomReportDTO> reports, LocalDate date, String fontSize, OutputStream out) throws DocumentException {
+        FontSizes fonts = getFontSizes(fontSize);
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
 
         try {
-            Document document = new Document(PageSize.A4);
-            PdfCopy copy = new PdfCopy(document, outputStream);
-            document.open();
-
-            // Generate PDF for each room and add to merged document
-            for (RoomReportDTO report : reports) {
-                byte[] roomPdf = generateRoomReportPdf(report, date, fontSize);
-                PdfReader reader = new PdfReader(roomPdf);
-
-                // Add all pages from this room's PDF
-                for (int i = 1; i <= reader.getNumberOfPages(); i++) {
-                    copy.addPage(copy.getImportedPage(reader, i));
-                }
+            PdfWriter writer = openDocument(document, out);
+            Image collegeHeader = createCollegeHeader(writer, document, fonts);
 
-                reader.close();
-            }
+            writeInParallel(document, reports, (report, target) -> writeRoomReport(target, report, date, fonts, collegeHeader));
 
             document.close();
             log.info("Generated merged PDF report for {} rooms on date {}", reports.size(), date);
 
-            return outputStream.toByteArray();
+        } catch (InterruptedException e) {
+            // Keep the interrupt (cancelled render, executor shutdown) visible to the caller
+            Thread.currentThread().interrupt();
+            throw new DocumentException(e);
 
         } catch (Exception e) {
             log.error("Error generating merged PDF: {}", e.getMessage(), e);
@@ -240,238 +294,164 @@ public class PdfService {
         return cell;
     }
 
-    public byte[] generateJuniorSupervisorReportPdf(JuniorSupervisorReportDTO report, LocalDate date,
-            String fontSize, boolean showAnswerSheetCol, boolean showSupplementsCol) throws DocumentException {
-        FontSizes fonts = getFontSizes(fontSize);
+    public void generateJuniorSupervisorReportPdf(JuniorSupervisorReportDTO report, LocalDate date,
+            String fontSize, boolean showAnswerSheetCol, boolean showSupplementsCol, OutputStream out) throws DocumentException {
         // Reduced margins to fit content on one page
         Document document = new Document(PageSize.A4, 25, 25, 20, 20);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         try {
-            PdfWriter.getInstance(document, outputStream);
-            document.open();
-
-            // Header - College Name (reduced font sizes)
-            Font collegeBold = new Font(Font.FontFamily.HELVETICA, 11, Font.BOLD);
-            Paragraph line1 = new Paragraph("SHRI SIDH THAKURNATH COLLEGE OF ARTS & COMMERCE", collegeBold);
-            line1.setAlignment(Element.ALIGN_CENTER);
-            line1.setSpacingAfter(0);
-            document.add(line1);
-
-            Font collegeNormal = new Font(Font.FontFamily.HELVETICA, 9, Font.NORMAL);
-            Paragraph line2 = new Paragraph("(Affiliated to University of Mumbai, Mumbai)", collegeNormal);
-            line2.setAlignment(Element.ALIGN_CENTER);
-            line2.setSpacingAfter(0);
-            document.add(line2);
-
-            Paragraph line3 = new Paragraph("ULHASNAGAR - 421 004. Dist. Thane", collegeNormal);
-            line3.setAlignment(Element.ALIGN_CENTER);
-            line3.setSpacingAfter(3);
-            document.add(line3);
-
-            Font titleFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD | Font.UNDERLINE);
-            Paragraph title = new Paragraph("Junior Supervisor's Report", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            title.setSpacingAfter(5);
-            document.add(title);
-
-            // Exam details section (reduced font sizes)
-            Font labelFont = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD);
-            Font valueFont = new Font(Font.FontFamily.HELVETICA, 9, Font.NORMAL);
-
-            // Department and Room No row
-            PdfPTable deptRoomTable = new PdfPTable(2);
-            deptRoomTable.setWidthPercentage(100);
-            deptRoomTable.setSpacingAfter(3);
-
-            PdfPCell deptCell = new PdfPCell();
-            deptCell.setBorder(Rectangle.NO_BORDER);
-            deptCell.addElement(createLabelValuePhrase("Department: ", report.getDepartment(), labelFont, valueFont));
-            deptRoomTable.addCell(deptCell);
-
-            PdfPCell roomCell = new PdfPCell();
-            roomCell.setBorder(Rectangle.NO_BORDER);
-            roomCell.addElement(createLabelValuePhrase("Room No: ", report.getRoomNo(), labelFont, valueFont));
-            deptRoomTable.addCell(roomCell);
-
-            document.add(deptRoomTable);
-
-            // Class, Subject, Date row
-            PdfPTable detailsTable = new PdfPTable(3);
-            detailsTable.setWidthPercentage(100);
-            detailsTable.setSpacingAfter(3);
-
-            PdfPCell classCell = new PdfPCell();
-            classCell.setBorder(Rectangle.NO_BORDER);
-            classCell.addElement(createLabelValuePhrase("Class: ", report.getClassName(), labelFont, valueFont));
-            detailsTable.addCell(classCell);
-
-            PdfPCell subjectCell = new PdfPCell();
-            subjectCell.setBorder(Rectangle.NO_BORDER);
-            subjectCell.addElement(createLabelValuePhrase("Subject: ", report.getSubject(), labelFont, valueFont));
-            detailsTable.addCell(subjectCell);
-
-            PdfPCell dateCell = new PdfPCell();
-            dateCell.setBorder(Rectangle.NO_BORDER);
-            dateCell.addElement(createLabelValuePhrase("Date: ", "____________", labelFont, valueFont));
-            detailsTable.addCell(dateCell);
-
-            document.add(detailsTable);
-
-            // Calculate seat number range
-            String seatNoRange = "_______";
-            if (!report.getStudents().isEmpty()) {
-                String firstSeatNo = report.getStudents().get(0).getRollNo();
-                String lastSeatNo = report.getStudents().get(report.getStudents().size() - 1).getRollNo();
-                seatNoRange = firstSeatNo + " to " + lastSeatNo;
-            }
-
-            // SEM, Total, Seat No row
-            PdfPTable semTable = new PdfPTable(3);
-            semTable.setWidthPercentage(100);
-            semTable.setSpacingAfter(3);
-
-            PdfPCell semCell = new PdfPCell();
-            semCell.setBorder(Rectangle.NO_BORDER);
-            semCell.addElement(createLabelValuePhrase("SEM: ", "_______", labelFont, valueFont));
-            semTable.addCell(semCell);
-
-            PdfPCell totalBlockCell = new PdfPCell();
-            totalBlockCell.setBorder(Rectangle.NO_BORDER);
-            totalBlockCell.addElement(createLabelValuePhrase("Total No. in the Block: ", String.valueOf(report.getTotalStudents()), labelFont, valueFont));
-            semTable.addCell(totalBlockCell);
-
-            PdfPCell seatNoCell = new PdfPCell();
-            seatNoCell.setBorder(Rectangle.NO_BORDER);
-            seatNoCell.addElement(createLabelValuePhrase("Seat No: ", seatNoRange, labelFont, valueFont));
-            semTable.addCell(seatNoCell);
-
-            document.add(semTable);
-
-            // Total Present/Absent row
-            PdfPTable presentAbsentTable = new PdfPTable(2);
-            presentAbsentTable.setWidthPercentage(100);
-            presentAbsentTable.setSpacingAfter(5);
-
-            PdfPCell presentCell = new PdfPCell();
-            presentCell.setBorder(Rectangle.NO_BORDER);
-            presentCell.addElement(createLabelValuePhrase("Total No. of Candidates Present: ", "_______", labelFont, valueFont));
-            presentAbsentTable.addCell(presentCell);
-
-            PdfPCell absentCell = new PdfPCell();
-            absentCell.setBorder(Rectangle.NO_BORDER);
-            absentCell.addElement(createLabelValuePhrase("Total No. of Candidates Absent: ", "_______", labelFont, valueFont));
-            presentAbsentTable.addCell(absentCell);
-
-            document.add(presentAbsentTable);
-
-            // Create the main table with two side-by-side tables (1-20 and 21-40)
-            int totalStudents = report.getStudents().size();
-
-            // Main container table with 2 columns (left table | right table)
-            PdfPTable mainTable = new PdfPTable(2);
-            mainTable.setWidthPercentage(100);
-            mainTable.setSpacingBefore(3);
-
-            // Left table (1-20)
-            PdfPTable leftTable = createStudentTable(fonts, showAnswerSheetCol, showSupplementsCol);
-            addStudentRows(leftTable, report.getStudents(), 0, Math.min(20, totalStudents), fonts, showAnswerSheetCol, showSupplementsCol);
-            // Fill remaining rows if less than 20
-            for (int i = totalStudents; i < 20; i++) {
-                addEmptyRow(leftTable, i + 1, showAnswerSheetCol, showSupplementsCol, fonts);
-            }
-
-            PdfPCell leftCell = new PdfPCell(leftTable);
-            leftCell.setBorder(Rectangle.NO_BORDER);
-            leftCell.setPaddingRight(3);
-            mainTable.addCell(leftCell);
-
-            // Right table (21-40)
-            PdfPTable rightTable = createStudentTable(fonts, showAnswerSheetCol, showSupplementsCol);
-            if (totalStudents > 20) {
-                addStudentRows(rightTable, report.getStudents(), 20, Math.min(40, totalStudents), fonts, showAnswerSheetCol, showSupplementsCol);
-            }
-            // Fill remaining rows up to 40
-            for (int i = Math.max(20, totalStudents); i < 40; i++) {
-                addEmptyRow(rightTable, i + 1, showAnswerSheetCol, showSupplementsCol, fonts);
-            }
-
-            PdfPCell rightCell = new PdfPCell(rightTable);
-            rightCell.setBorder(Rectangle.NO_BORDER);
-            rightCell.setPaddingLeft(3);
-            mainTable.addCell(rightCell);
-
-            document.add(mainTable);
+            PdfWriter writer = openDocument(document, out);
+            JuniorSupervisorTemplates templates = createJuniorSupervisorTemplates(writer, document);
 
-            // Footer section (reduced spacing)
-            Font footerFont = new Font(Font.FontFamily.HELVETICA, 9, Font.NORMAL);
+            writeJuniorSupervisorReport(document, report, showAnswerSheetCol, showSupplementsCol, templates);
 
-            Paragraph answerSheets = new Paragraph();
-            answerSheets.add(new Chunk("Total No. of Main Answer Sheets Used: ", labelFont));
-            answerSheets.add(new Chunk("_____________", footerFont));
-            answerSheets.setSpacingBefore(5);
-            document.add(answerSheets);
-
-            // Jr Supervisor row
-            PdfPTable jrSupTable = new PdfPTable(2);
-            jrSupTable.setWidthPercentage(100);
-            jrSupTable.setSpacingBefore(5);
-
-            PdfPCell jrNameCell = new PdfPCell();
-            jrNameCell.setBorder(Rectangle.NO_BORDER);
-            jrNameCell.addElement(createLabelValuePhrase("Name of Jr. Supervisor: ", "________________", labelFont, footerFont));
-            jrSupTable.addCell(jrNameCell);
-
-            PdfPCell jrSignCell = new PdfPCell();
-            jrSignCell.setBorder(Rectangle.NO_BORDER);
-            jrSignCell.addElement(createLabelValuePhrase("Signature: ", "________________", labelFont, footerFont));
-            jrSupTable.addCell(jrSignCell);
-
-            document.add(jrSupTable);
-
-            // Checked by row
-            PdfPTable checkedTable = new PdfPTable(2);
-            checkedTable.setWidthPercentage(100);
-            checkedTable.setSpacingBefore(5);
-
-            PdfPCell checkedNameCell = new PdfPCell();
-            checkedNameCell.setBorder(Rectangle.NO_BORDER);
-            checkedNameCell.addElement(createLabelValuePhrase("Checked by another Jr. Supervisor: ", "________________", labelFont, footerFont));
-            checkedTable.addCell(checkedNameCell);
-
-            PdfPCell checkedSignCell = new PdfPCell();
-            checkedSignCell.setBorder(Rectangle.NO_BORDER);
-            checkedSignCell.addElement(createLabelValuePhrase("Signature: ", "________________", labelFont, footerFont));
-            checkedTable.addCell(checkedSignCell);
+            document.close();
+            log.info("Generated Junior Supervisor Report PDF for room {} subject {}", report.getRoomNo(), report.getSubject());
 
-            document.add(checkedTable);
+        } catch (Exception e) {
+            log.error("Error generating Junior Supervisor Report PDF: {}", e.getMessage(), e);
+            throw new DocumentException("Failed to generate Junior Supervisor Report PDF: " + e.getMessage());
+        }
+    }
 
-            // Sr Supervisor row
-            PdfPTable srSupTable = new PdfPTable(2);
-            srSupTable.setWidthPercentage(100);
-            srSupTable.setSpacingBefore(5);
+    /**
+     * Writes one room/subject Junior Supervisor report to the document, or to any other element target
+     */
+    private void writeJuniorSupervisorReport(ElementListener document, JuniorSupervisorReportDTO report,
+            boolean showAnswerSheetCol, boolean showSupplementsCol, JuniorSupervisorTemplates templates) throws DocumentException {
+        // Header - College Name and title, shared by every page of the document
+        document.add(templates.header);
+
+        // Exam details section (reduced font sizes)
+        Font labelFont = JS_LABEL_FONT;
+        Font valueFont = JS_VALUE_FONT;
+
+        // Department and Room No row
+        PdfPTable deptRoomTable = new PdfPTable(2);
+        deptRoomTable.setWidthPercentage(100);
+        deptRoomTable.setSpacingAfter(3);
+
+        PdfPCell deptCell = new PdfPCell();
+        deptCell.setBorder(Rectangle.NO_BORDER);
+        deptCell.addElement(createLabelValuePhrase("Department: ", report.getDepartment(), labelFont, valueFont));
+        deptRoomTable.addCell(deptCell);
+
+        PdfPCell roomCell = new PdfPCell();
+        roomCell.setBorder(Rectangle.NO_BORDER);
+        roomCell.addElement(createLabelValuePhrase("Room No: ", report.getRoomNo(), labelFont, valueFont));
+        deptRoomTable.addCell(roomCell);
+
+        document.add(deptRoomTable);
+
+        // Class, Subject, Date row
+        PdfPTable detailsTable = new PdfPTable(3);
+        detailsTable.setWidthPercentage(100);
+        detailsTable.setSpacingAfter(3);
+
+        PdfPCell classCell = new PdfPCell();
+        classCell.setBorder(Rectangle.NO_BORDER);
+        classCell.addElement(createLabelValuePhrase("Class: ", report.getClassName(), labelFont, valueFont));
+        detailsTable.addCell(classCell);
+
+        PdfPCell subjectCell = new PdfPCell();
+        subjectCell.setBorder(Rectangle.NO_BORDER);
+        subjectCell.addElement(createLabelValuePhrase("Subject: ", report.getSubject(), labelFont, valueFont));
+        detailsTable.addCell(subjectCell);
+
+        PdfPCell dateCell = new PdfPCell();
+        dateCell.setBorder(Rectangle.NO_BORDER);
+        dateCell.addElement(createLabelValuePhrase("Date: ", "____________", labelFont, valueFont));
+        detailsTable.addCell(dateCell);
+
+        document.add(detailsTable);
+
+        // Calculate seat number range
+        String seatNoRange = "_______";
+        if (!report.getStudents().isEmpty()) {
+            String firstSeatNo = report.getStudents().get(0).getRollNo();
+            String lastSeatNo = report.getStudents().get(report.getStudents().size() - 1).getRollNo();
+            seatNoRange = firstSeatNo + " to " + lastSeatNo;
+        }
 
-            PdfPCell srNameCell = new PdfPCell();
-            srNameCell.setBorder(Rectangle.NO_BORDER);
-            srNameCell.addElement(createLabelValuePhrase("Name of Sr. Supervisor: ", "________________", labelFont, footerFont));
-            srSupTable.addCell(srNameCell);
+        // SEM, Total, Seat No row
+        PdfPTable semTable = new PdfPTable(3);
+        semTable.setWidthPercentage(100);
+        semTable.setSpacingAfter(3);
+
+        PdfPCell semCell = new PdfPCell();
+        semCell.setBorder(Rectangle.NO_BORDER);
+        semCell.addElement(createLabelValuePhrase("SEM: ", "_______", labelFont, valueFont));
+        semTable.addCell(semCell);
+
+        PdfPCell totalBlockCell = new PdfPCell();
+        totalBlockCell.setBorder(Rectangle.NO_BORDER);
+        totalBlockCell.addElement(createLabelValuePhrase("Total No. in the Block: ", String.valueOf(report.getTotalStudents()), labelFont, valueFont));
+        semTable.addCell(totalBlockCell);
+
+        PdfPCell seatNoCell = new PdfPCell();
+        seatNoCell.setBorder(Rectangle.NO_BORDER);
+        seatNoCell.addElement(createLabelValuePhrase("Seat No: ", seatNoRange, labelFont, valueFont));
+        semTable.addCell(seatNoCell);
+
+        document.add(semTable);
+
+        // Total Present/Absent row
+        PdfPTable presentAbsentTable = new PdfPTable(2);
+        presentAbsentTable.setWidthPercentage(100);
+        presentAbsentTable.setSpacingAfter(5);
+
+        PdfPCell presentCell = new PdfPCell();
+        presentCell.setBorder(Rectangle.NO_BORDER);
+        presentCell.addElement(createLabelValuePhrase("Total No. of Candidates Present: ", "_______", labelFont, valueFont));
+        presentAbsentTable.addCell(presentCell);
+
+        PdfPCell absentCell = new PdfPCell();
+        absentCell.setBorder(Rectangle.NO_BORDER);
+        absentCell.addElement(createLabelValuePhrase("Total No. of Candidates Absent: ", "_______", labelFont, valueFont));
+        presentAbsentTable.addCell(absentCell);
+
+        document.add(presentAbsentTable);
+
+        // Create the main table with two side-by-side tables (1-20 and 21-40)
+        int totalStudents = report.getStudents().size();
+
+        // Main container table with 2 columns (left table | right table)
+        PdfPTable mainTable = new PdfPTable(2);
+        mainTable.setWidthPercentage(100);
+        mainTable.setSpacingBefore(3);
+
+        // Left table (1-20)
+        PdfPTable leftTable = createStudentTable(showAnswerSheetCol, showSupplementsCol);
+        addStudentRows(leftTable, report.getStudents(), 0, Math.min(20, totalStudents), showAnswerSheetCol, showSupplementsCol);
+        // Fill remaining rows if less than 20
+        for (int i = totalStudents; i < 20; i++) {
+            addEmptyRow(leftTable, i + 1, showAnswerSheetCol, showSupplementsCol);
+        }
 
-            PdfPCell srSignCell = new PdfPCell();
-            srSignCell.setBorder(Rectangle.NO_BORDER);
-            srSignCell.addElement(createLabelValuePhrase("Signature: ", "________________", labelFont, footerFont));
-            srSupTable.addCell(srSignCell);
+        PdfPCell leftCell = new PdfPCell(leftTable);
+        leftCell.setBorder(Rectangle.NO_BORDER);
+        leftCell.setPaddingRight(3);
+        mainTable.addCell(leftCell);
 
-            document.add(srSupTable);
+        // Right table (21-40)
+        PdfPTable rightTable = createStudentTable(showAnswerSheetCol, showSupplementsCol);
+        if (totalStudents > 20) {
+            addStudentRows(rightTable, report.getStudents(), 20, Math.min(40, totalStudents), showAnswerSheetCol, showSupplementsCol);
+        }
+        // Fill remaining rows up to 40
+        for (int i = Math.max(20, totalStudents); i < 40; i++) {
+            addEmptyRow(rightTable, i + 1, showAnswerSheetCol, showSupplementsCol);
+        }
 
-            document.close();
-            log.info("Generated Junior Supervisor Report PDF for room {} subject {}", report.getRoomNo(), report.getSubject());
+        PdfPCell rightCell = new PdfPCell(rightTable);
+        rightCell.setBorder(Rectangle.NO_BORDER);
+        rightCell.setPaddingLeft(3);
+        mainTable.addCell(rightCell);
 
-            return outputStream.toByteArray();
+        document.add(mainTable);
 
-        } catch (Exception e) {
-            log.error("Error generating Junior Supervisor Report PDF: {}", e.getMessage(), e);
-            throw new DocumentException("Failed to generate Junior Supervisor Report PDF: " + e.getMessage());
-        }
+        // Footer section, shared by every page of the document
+        document.add(templates.footer);
     }
 
     private Phrase createLabelValuePhrase(String label, String value, Font labelFont, Font valueFont) {
@@ -481,7 +461,7 @@ public class PdfService {
         return phrase;
     }
 
-    private PdfPTable createStudentTable(FontSizes fonts, boolean showAnswerSheetCol, boolean showSupplementsCol) throws DocumentException {
+    private PdfPTable createStudentTable(boolean showAnswerSheetCol, boolean showSupplementsCol) throws DocumentException {
         int columnCount = 3; // Sr No, Seat No, Signature
         if (showAnswerSheetCol) columnCount++;
         if (showSupplementsCol) columnCount++;
@@ -500,7 +480,7 @@ public class PdfService {
         }
         table.setWidths(widths);
 
-        Font headerFont = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
+        Font headerFont = JS_TABLE_HEADER_FONT;
 
         // Headers
         table.addCell(createTableHeaderCell("Sr No", headerFont));
@@ -526,8 +506,8 @@ public class PdfService {
     }
 
     private void addStudentRows(PdfPTable table, List<JuniorSupervisorReportDTO.StudentEntry> students,
-            int start, int end, FontSizes fonts, boolean showAnswerSheetCol, boolean showSupplementsCol) {
-        Font cellFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+            int start, int end, boolean showAnswerSheetCol, boolean showSupplementsCol) {
+        Font cellFont = JS_TABLE_CELL_FONT;
 
         for (int i = start; i < end; i++) {
             JuniorSupervisorReportDTO.StudentEntry student = students.get(i);
@@ -544,8 +524,8 @@ public class PdfService {
         }
     }
 
-    private void addEmptyRow(PdfPTable table, int srNo, boolean showAnswerSheetCol, boolean showSupplementsCol, FontSizes fonts) {
-        Font cellFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+    private void addEmptyRow(PdfPTable table, int srNo, boolean showAnswerSheetCol, boolean showSupplementsCol) {
+        Font cellFont = JS_TABLE_CELL_FONT;
 
         table.addCell(createTableDataCell(String.valueOf(srNo), cellFont));
         table.addCell(createTableDataCell("", cellFont));
@@ -567,30 +547,23 @@ public class PdfService {
         return cell;
     }
 
-    public byte[] generateAllJuniorSupervisorReportsPdf(List<JuniorSupervisorReportDTO> reports, LocalDate date,
-            String fontSize, boolean showAnswerSheetCol, boolean showSupplementsCol) throws DocumentException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    public void generateAllJuniorSupervisorReportsPdf(List<JuniorSupervisorReportDTO> reports, LocalDate date,
+            String fontSize, boolean showAnswerSheetCol, boolean showSupplementsCol, OutputStream out) throws DocumentException {
+        Document document = new Document(PageSize.A4, 25, 25, 20, 20);
 
         try {
-            Document document = new Document(PageSize.A4);
-            PdfCopy copy = new PdfCopy(document, outputStream);
-            document.open();
-
-            for (JuniorSupervisorReportDTO report : reports) {
-                byte[] reportPdf = generateJuniorSupervisorReportPdf(report, date, fontSize, showAnswerSheetCol, showSupplementsCol);
-                PdfReader reader = new PdfReader(reportPdf);
-
-                for (int i = 1; i <= reader.getNumberOfPages(); i++) {
-                    copy.addPage(copy.getImportedPage(reader, i));
-                }
+            PdfWriter writer = openDocument(document, out);
+            JuniorSupervisorTemplates templates = createJuniorSupervisorTemplates(writer, document);
 
-                reader.close();
-            }
+            writeInParallel(document, reports,
+                    (report, target) -> writeJuniorSupervisorReport(target, report, showAnswerSheetCol, showSupplementsCol, templates));
 
             document.close();
             log.info("Generated merged Junior Supervisor Reports PDF for {} reports on date {}", reports.size(), date);
 
-            return outputStream.toByteArray();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentException(e);
 
         } catch (Exception e) {
             log.error("Error generating merged Junior Supervisor Reports PDF: {}", e.getMessage(), e);
@@ -599,25 +572,240 @@ public class PdfService {
     }
 
     /**
-     * Adds the college header to the PDF document
+     * Writes every report into the document, each starting on a new page, in list order.
+     * Reports are built into element lists on the render pool, at most a few per thread ahead
+     * of the one being added, and only this thread touches the document.
      */
-    private void addCollegeHeader(Document document, FontSizes fonts) throws DocumentException {
-        if (reportConfig.getLine1() != null && !reportConfig.getLine1().isEmpty()) {
-            Paragraph headerLine1 = new Paragraph(reportConfig.getLine1(), fonts.collegeBoldFont);
-            headerLine1.setAlignment(Element.ALIGN_CENTER);
-            document.add(headerLine1);
+    private <T> void writeInParallel(Document document, List<T> reports, ReportWriter<T> writer)
+            throws DocumentException, InterruptedException {
+        int lookahead = Math.max(1, pdfRenderConfig.getThreads()) * Math.max(1, pdfRenderConfig.getLookaheadPerThread());
+        Deque<Future<List<Element>>> pending = new ArrayDeque<>();
+        int submitted = 0;
+
+        try {
+            for (int i = 0; i < reports.size(); i++) {
+                while (submitted < reports.size() && pending.size() < lookahead) {
+                    T report = reports.get(submitted++);
+                    pending.add(renderExecutor.submit(() -> {
+                        List<Element> elements = new ArrayList<>();
+                        writer.write(report, elements::add);
+                        return elements;
+                    }));
+                }
+
+                List<Element> elements = pending.poll().get();
+                if (i > 0) {
+                    document.newPage();
+                }
+                for (Element element : elements) {
+                    document.add(element);
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new DocumentException(cause instanceof Exception ex ? ex : new Exception(cause));
+        } finally {
+            pending.forEach(future -> future.cancel(true));
         }
+    }
+
+    @FunctionalInterface
+    private interface ReportWriter<T> {
+        void write(T report, ElementListener target) throws DocumentException;
+    }
+
+    /**
+     * Renders the Junior Supervisor form's fixed header and footer once for the document
+     */
+    private JuniorSupervisorTemplates createJuniorSupervisorTemplates(PdfWriter writer, Document document) throws DocumentException {
+        float width = document.right() - document.left();
+        Image header = renderTemplate(writer, width, 0, 5, this::writeJuniorSupervisorHeader);
+        Image footer = renderTemplate(writer, width, 5, 0, this::writeJuniorSupervisorFooter);
+        return new JuniorSupervisorTemplates(header, footer);
+    }
+
+    private void writeJuniorSupervisorHeader(ElementListener document) throws DocumentException {
+        Paragraph line1 = new Paragraph("SHRI SIDH THAKURNATH COLLEGE OF ARTS & COMMERCE", JS_COLLEGE_BOLD_FONT);
+        line1.setAlignment(Element.ALIGN_CENTER);
+        line1.setSpacingAfter(0);
+        document.add(line1);
+
+        Paragraph line2 = new Paragraph("(Affiliated to University of Mumbai, Mumbai)", JS_COLLEGE_NORMAL_FONT);
+        line2.setAlignment(Element.ALIGN_CENTER);
+        line2.setSpacingAfter(0);
+        document.add(line2);
+
+        Paragraph line3 = new Paragraph("ULHASNAGAR - 421 004. Dist. Thane", JS_COLLEGE_NORMAL_FONT);
+        line3.setAlignment(Element.ALIGN_CENTER);
+        line3.setSpacingAfter(3);
+        document.add(line3);
+
+        Paragraph title = new Paragraph("Junior Supervisor's Report", JS_TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+    }
+
+    private void writeJuniorSupervisorFooter(ElementListener document) throws DocumentException {
+        Font labelFont = JS_LABEL_FONT;
+        Font footerFont = JS_VALUE_FONT;
+
+        Paragraph answerSheets = new Paragraph();
+        answerSheets.add(new Chunk("Total No. of Main Answer Sheets Used: ", labelFont));
+        answerSheets.add(new Chunk("_____________", footerFont));
+        document.add(answerSheets);
+
+        // Jr Supervisor row
+        PdfPTable jrSupTable = new PdfPTable(2);
+        jrSupTable.setWidthPercentage(100);
+        jrSupTable.setSpacingBefore(5);
+
+        PdfPCell jrNameCell = new PdfPCell();
+        jrNameCell.setBorder(Rectangle.NO_BORDER);
+        jrNameCell.addElement(createLabelValuePhrase("Name of Jr. Supervisor: ", "________________", labelFont, footerFont));
+        jrSupTable.addCell(jrNameCell);
+
+        PdfPCell jrSignCell = new PdfPCell();
+        jrSignCell.setBorder(Rectangle.NO_BORDER);
+        jrSignCell.addElement(createLabelValuePhrase("Signature: ", "________________", labelFont, footerFont));
+        jrSupTable.addCell(jrSignCell);
+
+        document.add(jrSupTable);
+
+        // Checked by row
+        PdfPTable checkedTable = new PdfPTable(2);
+        checkedTable.setWidthPercentage(100);
+        checkedTable.setSpacingBefore(5);
+
+        PdfPCell checkedNameCell = new PdfPCell();
+        checkedNameCell.setBorder(Rectangle.NO_BORDER);
+        checkedNameCell.addElement(createLabelValuePhrase("Checked by another Jr. Supervisor: ", "________________", labelFont, footerFont));
+        checkedTable.addCell(checkedNameCell);
+
+        PdfPCell checkedSignCell = new PdfPCell();
+        checkedSignCell.setBorder(Rectangle.NO_BORDER);
+        checkedSignCell.addElement(createLabelValuePhrase("Signature: ", "________________", labelFont, footerFont));
+        checkedTable.addCell(checkedSignCell);
+
+        document.add(checkedTable);
+
+        // Sr Supervisor row
+        PdfPTable srSupTable = new PdfPTable(2);
+        srSupTable.setWidthPercentage(100);
+        srSupTable.setSpacingBefore(5);
+
+        PdfPCell srNameCell = new PdfPCell();
+        srNameCell.setBorder(Rectangle.NO_BORDER);
+        srNameCell.addElement(createLabelValuePhrase("Name of Sr. Supervisor: ", "________________", labelFont, footerFont));
+        srSupTable.addCell(srNameCell);
+
+        PdfPCell srSignCell = new PdfPCell();
+        srSignCell.setBorder(Rectangle.NO_BORDER);
+        srSignCell.addElement(createLabelValuePhrase("Signature: ", "________________", labelFont, footerFont));
+        srSupTable.addCell(srSignCell);
+
+        document.add(srSupTable);
+    }
 
-        if (reportConfig.getLine2() != null && !reportConfig.getLine2().isEmpty()) {
-            Paragraph headerLine2 = new Paragraph(reportConfig.getLine2(), fonts.collegeBoldFont);
-            headerLine2.setAlignment(Element.ALIGN_CENTER);
-            document.add(headerLine2);
+    /**
+     * Renders static elements once into a form XObject. The returned image can be added to any
+     * number of pages of the same document, which all refer to the one XObject.
+     * Images ignore spacing in the page flow, so space around the block is part of the template.
+     */
+    private Image renderTemplate(PdfWriter writer, float width, float spacingBefore, float spacingAfter,
+            BlockWriter block) throws DocumentException {
+        // Measure the block first so the template is exactly as tall as its content
+        ColumnText measure = new ColumnText(null);
+        measure.setSimpleColumn(0, 0, width, MAX_TEMPLATE_HEIGHT);
+        addBlock(measure, block);
+        measure.go(true);
+        float height = MAX_TEMPLATE_HEIGHT - measure.getYLine();
+
+        PdfTemplate template = PdfTemplate.createTemplate(writer, width, spacingBefore + height + spacingAfter);
+        ColumnText column = new ColumnText(template);
+        column.setSimpleColumn(0, spacingAfter, width, spacingAfter + height);
+        addBlock(column, block);
+        if (ColumnText.hasMoreText(column.go())) {
+            throw new DocumentException("Static block does not fit its template");
+        }
+        return Image.getInstance(template);
+    }
+
+    private void addBlock(ColumnText column, BlockWriter block) throws DocumentException {
+        List<Element> elements = new ArrayList<>();
+        block.write(elements::add);
+        elements.forEach(column::addElement);
+    }
+
+    @FunctionalInterface
+    private interface BlockWriter {
+        void write(ElementListener target) throws DocumentException;
+    }
+
+    /**
+     * Header and footer of the Junior Supervisor form for one document
+     */
+    private static class JuniorSupervisorTemplates {
+        final Image header;
+        final Image footer;
+
+        JuniorSupervisorTemplates(Image header, Image footer) {
+            this.header = header;
+            this.footer = footer;
+        }
+    }
+
+    /**
+     * Renders the college header lines from ReportConfig once for the document; null when none are configured
+     */
+    private Image createCollegeHeader(PdfWriter writer, Document document, FontSizes fonts) throws DocumentException {
+        boolean hasLine1 = reportConfig.getLine1() != null && !reportConfig.getLine1().isEmpty();
+        boolean hasLine2 = reportConfig.getLine2() != null && !reportConfig.getLine2().isEmpty();
+        if (!hasLine1 && !hasLine2) {
+            return null;
+        }
+
+        return renderTemplate(writer, document.right() - document.left(), 0, 0, target -> {
+            if (hasLine1) {
+                Paragraph headerLine1 = new Paragraph(reportConfig.getLine1(), fonts.collegeBoldFont);
+                headerLine1.setAlignment(Element.ALIGN_CENTER);
+                target.add(headerLine1);
+            }
+
+            if (hasLine2) {
+                Paragraph headerLine2 = new Paragraph(reportConfig.getLine2(), fonts.collegeBoldFont);
+                headerLine2.setAlignment(Element.ALIGN_CENTER);
+                target.add(headerLine2);
+            }
+        });
+    }
+
+    /**
+     * Adds the college header to the PDF document
+     */
+    private void addCollegeHeader(ElementListener document, Image collegeHeader) throws DocumentException {
+        if (collegeHeader != null) {
+            document.add(collegeHeader);
         }
 
         document.add(new Paragraph(" "));
     }
 
+    /**
+     * Fonts for a requested size, shared across requests; only the first few distinct sizes are kept
+     */
     private FontSizes getFontSizes(String fontSize) {
+        FontSizes cached = fontSizesCache.get(fontSize);
+        if (cached != null) {
+            return cached;
+        }
+        FontSizes fonts = createFontSizes(fontSize);
+        if (fontSizesCache.size() < MAX_CACHED_FONT_SIZES) {
+            fontSizesCache.putIfAbsent(fontSize, fonts);
+        }
+        return fonts;
+    }
+
+    private FontSizes createFontSizes(String fontSize) {
         // Try to parse as integer (numeric font size)
         try {
             int baseSize = Integer.parseInt(fontSize);
@@ -0,0 +1,152 @@
+package com.seating.service;
+
+import com.seating.dto.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Builds the consolidated, room and junior supervisor views of a run in a single pass over
+ * its arrangement rows. Feed every row to {@link #accept}, then call {@link #build}.
+ *
+ * Rows are expected in room, bench, position order, as returned by the report queries.
+ */
+public class ReportAggregator implements Consumer<ArrangementRowDTO> {
+
+    private final Map<String, RoomGroup> rooms = new HashMap<>();
+
+    @Override
+    public void accept(ArrangementRowDTO row) {
+        rooms.computeIfAbsent(row.getRoomNo(), roomNo -> new RoomGroup(row.getRoomId(), roomNo)).add(row);
+    }
+
+    public ReportBundleDTO build(Long runId) {
+        List<ConsolidatedReportDTO> consolidated = new ArrayList<>();
+        List<RoomReportDTO> roomReports = new ArrayList<>();
+        List<JuniorSupervisorReportDTO> juniorSupervisor = new ArrayList<>();
+
+        for (RoomGroup room : rooms.values()) {
+            room.departments.forEach((department, range) -> consolidated.add(ConsolidatedReportDTO.builder()
+                    .roomId(room.roomId)
+                    .roomNo(room.roomNo)
+                    .department(department)
+                    .rollNoFrom(range.rollNoFrom)
+                    .rollNoTo(range.rollNoTo)
+                    .totalCount(range.count)
+                    .build()));
+
+            roomReports.add(RoomReportDTO.builder()
+                    .roomId(room.roomId)
+                    .roomNo(room.roomNo)
+                    .departments(new HashSet<>(room.departments.keySet()))
+                    .subjects(new HashSet<>(room.bySubject.keySet()))
+                    .rightSeats(room.rightSeats)
+                    .middleSeats(room.middleSeats)
+                    .leftSeats(room.leftSeats)
+                    .build());
+
+            room.bySubject.forEach((subject, subjectRows) ->
+                    juniorSupervisor.add(juniorSupervisorReport(room, subject, subjectRows)));
+        }
+
+        // Sort by room ID (numeric order) instead of room number (string order)
+        consolidated.sort(Comparator.comparing(ConsolidatedReportDTO::getRoomId)
+                .thenComparing(ConsolidatedReportDTO::getDepartment));
+        roomReports.sort(Comparator.comparing(RoomReportDTO::getRoomId));
+        juniorSupervisor.sort(Comparator.comparing(JuniorSupervisorReportDTO::getRoomId)
+                .thenComparing(JuniorSupervisorReportDTO::getSubject));
+
+        return ReportBundleDTO.builder()
+                .runId(runId)
+                .consolidated(consolidated)
+                .rooms(roomReports)
+                .juniorSupervisor(juniorSupervisor)
+                .build();
+    }
+
+    private JuniorSupervisorReportDTO juniorSupervisorReport(RoomGroup room, String subject,
+                                                             List<ArrangementRowDTO> subjectRows) {
+        // Sort by seat number for serial number assignment
+        subjectRows.sort(Comparator.comparing(ArrangementRowDTO::getSeatNo));
+
+        List<JuniorSupervisorReportDTO.StudentEntry> students = new ArrayList<>(subjectRows.size());
+        int srNo = 1;
+        for (ArrangementRowDTO row : subjectRows) {
+            students.add(JuniorSupervisorReportDTO.StudentEntry.builder()
+                    .srNo(srNo++)
+                    .seatNo(row.getSeatNo())
+                    .rollNo(row.getRollNo())
+                    .build());
+        }
+
+        // Department and class from the first student (all should have same subject)
+        ArrangementRowDTO first = subjectRows.get(0);
+        return JuniorSupervisorReportDTO.builder()
+                .roomId(room.roomId)
+                .roomNo(room.roomNo)
+                .department(first.getDepartment())
+                .className(first.getClassName())
+                .subject(subject)
+                .totalStudents(students.size())
+                .students(students)
+                .build();
+    }
+
+    /**
+     * Everything collected for one room
+     */
+    private static final class RoomGroup {
+        private final Long roomId;
+        private final String roomNo;
+        private final Map<String, RollNoRange> departments = new HashMap<>();
+        private final Map<String, List<ArrangementRowDTO>> bySubject = new HashMap<>();
+        private final List<SeatAllocationDTO> rightSeats = new ArrayList<>();
+        private final List<SeatAllocationDTO> middleSeats = new ArrayList<>();
+        private final List<SeatAllocationDTO> leftSeats = new ArrayList<>();
+
+        RoomGroup(Long roomId, String roomNo) {
+            this.roomId = roomId;
+            this.roomNo = roomNo;
+        }
+
+        void add(ArrangementRowDTO row) {
+            departments.computeIfAbsent(row.getDepartment(), d -> new RollNoRange()).add(row.getRollNo());
+            bySubject.computeIfAbsent(row.getSubject(), s -> new ArrayList<>()).add(row);
+
+            SeatAllocationDTO allocation = SeatAllocationDTO.builder()
+                    .seatNo(row.getSeatNo())
+                    .benchNo(row.getBenchNo())
+                    .rollNo(row.getRollNo())
+                    .studentName(row.getStudentName())
+                    .department(row.getDepartment())
+                    .subject(row.getSubject())
+                    .build();
+
+            // Rows arrive in bench order, so each position list stays sorted by bench
+            switch (row.getPosition()) {
+                case "R" -> rightSeats.add(allocation);
+                case "M" -> middleSeats.add(allocation);
+                case "L" -> leftSeats.add(allocation);
+            }
+        }
+    }
+
+    /**
+     * First and last roll number of a department in a room, and how many students it has there
+     */
+    private static final class RollNoRange {
+        private String rollNoFrom;
+        private String rollNoTo;
+        private int count;
+
+        void add(String rollNo) {
+            if (rollNoFrom == null || rollNo.compareTo(rollNoFrom) < 0) {
+                rollNoFrom = rollNo;
+            }
+            if (rollNoTo == null || rollNo.compareTo(rollNoTo) > 0) {
+                rollNoTo = rollNo;
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.seating.service;
+
+import com.seating.config.ReportCacheConfig;
+import com.seating.dto.ReportBundleDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size-bounded LRU cache of report bundles by run id, with a time-to-live per entry.
+ *
+ * Concurrent requests for a run that is not cached yet share a single load, so a burst of
+ * viewers opening the same reports costs one database read. Cached bundles are shared and
+ * must be treated as read-only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCache {
+
+    private final ReportCacheConfig config;
+
+    // Access-ordered: iteration starts at the least recently used run
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ReportBundleDTO get(Long runId, Function<Long, ReportBundleDTO> loader) {
+        Entry entry;
+        boolean load = false;
+
+        synchronized (this) {
+            entry = entries.get(runId);
+            if (entry != null && entry.isExpired(config.getTtlMinutes())) {
+                entries.remove(runId);
+                expirations++;
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(runId, entry);
+                misses++;
+                load = true;
+                evictOverflow();
+            } else {
+                hits++;
+            }
+        }
+
+        if (load) {
+            try {
+                entry.future.complete(loader.apply(runId));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    entries.remove(runId, entry);
+                }
+                entry.future.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * The cached bundle of a run, without loading it when absent
+     */
+    public synchronized Optional<ReportBundleDTO> getIfPresent(Long runId) {
+        Entry entry = entries.get(runId);
+        if (entry == null || !entry.future.isDone() || entry.future.isCompletedExceptionally()
+                || entry.isExpired(config.getTtlMinutes())) {
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.future.join());
+    }
+
+    /**
+     * Cache a bundle that is already built, e.g. right after generation
+     */
+    public synchronized void put(Long runId, ReportBundleDTO bundle) {
+        Entry entry = new Entry();
+        entry.future.complete(bundle);
+        entries.put(runId, entry);
+        evictOverflow();
+    }
+
+    public synchronized void invalidate(Long runId) {
+        entries.remove(runId);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        log.debug("Report cache cleared");
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long requests = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", config.getMaxEntries());
+        stats.put("ttlMinutes", config.getTtlMinutes());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        return stats;
+    }
+
+    private void evictOverflow() {
+        Iterator<Long> eldest = entries.keySet().iterator();
+        while (entries.size() > config.getMaxEntries() && eldest.hasNext()) {
+            Long runId = eldest.next();
+            eldest.remove();
+            evictions++;
+            log.debug("Evicted reports of run {} from cache", runId);
+        }
+    }
+
+    /**
+     * A cached (or still loading) bundle and when it was created
+     */
+    private static final class Entry {
+        private final CompletableFuture<ReportBundleDTO> future = new CompletableFuture<>();
+        private final long createdAt = System.currentTimeMillis();
+
+        boolean isExpired(int ttlMinutes) {
+            return System.currentTimeMillis() - createdAt > ttlMinutes * 60_000L;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.seating.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seating.dto.ReportBundleDTO;
+import com.seating.entity.ArrangementRun;
+import com.seating.entity.ReportSnapshot;
+import com.seating.repository.ReportSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores and reads the precomputed report bundle of a run. Callers provide the transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportSnapshotService {
+
+    private final ReportSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    public void save(ArrangementRun run, ReportBundleDTO bundle) {
+        byte[] data = encode(bundle);
+        snapshotRepository.save(ReportSnapshot.builder()
+                .run(run)
+                .data(data)
+                .build());
+        log.debug("Stored report snapshot for run {} ({} bytes)", run.getId(), data.length);
+    }
+
+    public Optional<ReportBundleDTO> find(Long runId) {
+        return snapshotRepository.findByRunId(runId).map(snapshot -> decode(snapshot.getData()));
+    }
+
+    public void delete(Long runId) {
+        snapshotRepository.deleteByRunId(runId);
+    }
+
+    public void deleteAll() {
+        snapshotRepository.deleteAllInBatch();
+    }
+
+    private byte[] encode(ReportBundleDTO bundle) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, bundle);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write report snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ReportBundleDTO decode(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(in, ReportBundleDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read report snapshot", e);
+        }
+    }
+}
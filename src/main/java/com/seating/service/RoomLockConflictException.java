@@ -0,0 +1,20 @@
+package com.seating.service;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Thrown when a generation asks for rooms that another queued or running generation holds
+ */
+@Getter
+public class RoomLockConflictException extends IllegalStateException {
+
+    private final Set<Long> roomIds;
+
+    public RoomLockConflictException(Set<Long> roomIds) {
+        super("Rooms " + roomIds + " are in use by another seating generation. " +
+                "Wait for it to finish or choose different rooms.");
+        this.roomIds = roomIds;
+    }
+}
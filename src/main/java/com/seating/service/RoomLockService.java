@@ -0,0 +1,48 @@
+package com.seating.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory lock table of the rooms held by queued or running generation jobs.
+ * A job reserves all of its rooms or none of them, so generations over disjoint room sets
+ * run side by side while an overlapping request is refused straight away instead of waiting.
+ */
+@Service
+@Slf4j
+public class RoomLockService {
+
+    private final Map<Long, String> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Reserve every room for the owner, or throw {@link RoomLockConflictException} without reserving any
+     */
+    public void reserve(Collection<Long> roomIds, String owner) {
+        List<Long> acquired = new ArrayList<>();
+        Set<Long> conflicts = new TreeSet<>();
+
+        // Ascending order so two overlapping requests always collide on the same first room
+        for (Long roomId : new TreeSet<>(roomIds)) {
+            String holder = owners.putIfAbsent(roomId, owner);
+            if (holder == null) {
+                acquired.add(roomId);
+            } else if (!holder.equals(owner)) {
+                conflicts.add(roomId);
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            acquired.forEach(roomId -> owners.remove(roomId, owner));
+            throw new RoomLockConflictException(conflicts);
+        }
+        log.debug("{} reserved rooms {}", owner, acquired);
+    }
+
+    public void release(Collection<Long> roomIds, String owner) {
+        roomIds.forEach(roomId -> owners.remove(roomId, owner));
+        log.debug("{} released rooms {}", owner, roomIds);
+    }
+}
@@ -1,19 +1,26 @@
 package com.seating.service;
 
+import com.seating.dto.ImportResultDTO;
+import com.seating.dto.IngestStatsDTO;
 import com.seating.dto.RoomDTO;
 import com.seating.entity.Room;
 import com.seating.entity.Seat;
+import com.seating.repository.RoomBatchRepository;
 import com.seating.repository.RoomRepository;
 import com.seating.repository.SeatRepository;
-import com.seating.repository.SeatingArrangementRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for managing rooms and seats
@@ -24,9 +31,12 @@ import java.util.List;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomBatchRepository roomBatchRepository;
     private final SeatRepository seatRepository;
-    private final SeatingArrangementRepository seatingArrangementRepository;
+    private final SeatingArrangementService seatingArrangementService;
     private final ExcelService excelService;
+    private final IngestPipeline ingestPipeline;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
     public List<Room> getAllRooms() {
@@ -43,47 +53,69 @@ public class RoomService {
         return seatRepository.count();
     }
 
-    @Transactional
-    public void uploadRooms(MultipartFile file) throws Exception {
+    /**
+     * Import rooms from an Excel, CSV or NDJSON file in batches through the {@link IngestPipeline}.
+     * Room numbers of each batch are looked up in one query; new rooms and their seats are inserted
+     * with JDBC batches. Rooms that already exist are skipped.
+     */
+    public ImportResultDTO uploadRooms(MultipartFile file) throws Exception {
         try {
-            List<RoomDTO> roomDTOs = excelService.parseRoomExcel(file);
-
-            if (roomDTOs.isEmpty()) {
-                throw new IllegalArgumentException("No valid room data found in Excel file");
+            // Only the pipeline's writer thread touches the result until the pipeline returns
+            ImportResultDTO result = new ImportResultDTO();
+            IngestStatsDTO stats = ingestPipeline.<RoomDTO>run("Room upload",
+                    sink -> excelService.parseRoomExcel(file, sink),
+                    batch -> importBatch(batch, result));
+
+            if (stats.getRows() == 0) {
+                throw new IllegalArgumentException("No valid room data found in the uploaded file");
             }
+            result.setParsed(stats.getRows());
+            result.setStats(stats);
 
-            int savedCount = 0;
-            int skippedCount = 0;
-
-            for (RoomDTO dto : roomDTOs) {
-                if (roomRepository.existsByRoomNo(dto.getRoomNo())) {
-                    log.warn("Room {} already exists, skipping", dto.getRoomNo());
-                    skippedCount++;
-                    continue;
-                }
-
-                Room room = Room.builder()
-                        .roomNo(dto.getRoomNo())
-                        .totalBenches(dto.getTotalBenches())
-                        .capacity(dto.getCapacity())
-                        .rCount(dto.getRCount())
-                        .mCount(dto.getMCount())
-                        .lCount(dto.getLCount())
-                        .build();
+            log.info("Room upload completed. Saved: {}, Skipped: {}", result.getInserted(), result.getSkipped());
+            return result;
 
-                List<Seat> seats = generateSeats(room, dto);
-                room.setSeats(seats);
+        } catch (Exception e) {
+            log.error("Error uploading rooms: {}", e.getMessage(), e);
+            throw new Exception("Failed to upload rooms: " + e.getMessage());
+        }
+    }
 
-                roomRepository.save(room);
-                savedCount++;
+    private void importBatch(List<RoomDTO> batch, ImportResultDTO result) {
+        // A room number repeated in the file: the first row wins
+        Map<String, RoomDTO> byRoomNo = new LinkedHashMap<>();
+        for (RoomDTO dto : batch) {
+            if (byRoomNo.putIfAbsent(dto.getRoomNo(), dto) != null) {
+                log.warn("Room {} appears more than once in the file, keeping the first row", dto.getRoomNo());
+                result.setSkipped(result.getSkipped() + 1);
             }
+        }
 
-            log.info("Room upload completed. Saved: {}, Skipped: {}", savedCount, skippedCount);
+        Set<String> existing = roomBatchRepository.findExistingRoomNos(byRoomNo.keySet());
+        List<Room> rooms = new ArrayList<>();
+        for (RoomDTO dto : byRoomNo.values()) {
+            if (existing.contains(dto.getRoomNo())) {
+                log.warn("Room {} already exists, skipping", dto.getRoomNo());
+                result.setSkipped(result.getSkipped() + 1);
+                continue;
+            }
 
-        } catch (Exception e) {
-            log.error("Error uploading rooms: {}", e.getMessage(), e);
-            throw new Exception("Failed to upload rooms: " + e.getMessage());
+            Room room = Room.builder()
+                    .roomNo(dto.getRoomNo())
+                    .totalBenches(dto.getTotalBenches())
+                    .capacity(dto.getCapacity())
+                    .rCount(dto.getRCount())
+                    .mCount(dto.getMCount())
+                    .lCount(dto.getLCount())
+                    .build();
+
+            List<Seat> seats = generateSeats(room, dto);
+            room.setSeats(seats);
+            rooms.add(room);
         }
+
+        roomBatchRepository.insertAll(rooms);
+        result.setInserted(result.getInserted() + rooms.size());
     }
 
     private List<Seat> generateSeats(Room room, RoomDTO dto) {
@@ -137,21 +169,22 @@ public class RoomService {
         log.info("All seats have been reset");
     }
 
-    @Transactional
     public void deleteAllRooms() {
         // Delete in order to respect foreign key constraints:
-        // 1. seating_arrangements (references seats and rooms)
+        // 1. arrangement runs with their rows, snapshots and cached reports (reference seats and rooms),
+        //    before the rooms' transaction since run partitions cannot be dropped inside one
         // 2. seats (references rooms)
         // 3. rooms (no dependencies)
 
-        seatingArrangementRepository.deleteAll();
-        log.info("All seating arrangements have been deleted");
+        seatingArrangementService.deleteAllArrangements();
 
-        seatRepository.deleteAll();
-        log.info("All seats have been deleted");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            seatRepository.deleteAll();
+            log.info("All seats have been deleted");
 
-        roomRepository.deleteAll();
-        log.info("All rooms have been deleted");
+            roomRepository.deleteAll();
+            log.info("All rooms have been deleted");
+        });
     }
 
     @Transactional(readOnly = true)
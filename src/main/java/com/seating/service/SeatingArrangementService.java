@@ -1,17 +1,25 @@
 package com.seating.service;
 
+import com.seating.allocation.AllocationCancelledException;
+import com.seating.allocation.AllocationInput;
+import com.seating.allocation.AllocationPlan;
+import com.seating.allocation.SeatAllocator;
 import com.seating.dto.*;
 import com.seating.entity.*;
 import com.seating.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing seating arrangements with constraint checking
@@ -25,50 +33,92 @@ public class SeatingArrangementService {
     private final RoomRepository roomRepository;
     private final SeatRepository seatRepository;
     private final SeatingArrangementRepository arrangementRepository;
+    private final SeatingArrangementBatchRepository arrangementBatchRepository;
+    private final ArrangementRunRepository runRepository;
+    private final ArrangementPartitionRepository partitionRepository;
+    private final ReportSnapshotService reportSnapshotService;
+    private final ReportCache reportCache;
+    private final PdfFileCache pdfFileCache;
+    private final PlatformTransactionManager transactionManager;
+    private final SeatAllocator seatAllocator = new SeatAllocator();
 
-    @Transactional
     public Map<String, Object> generateSeatingArrangement(SeatingFilterDTO filter) throws Exception {
+        return generateSeatingArrangement(filter, GenerationProgress.NONE);
+    }
+
+    /**
+     * Generate in three steps so no row locks are held while allocating:
+     * a read-only snapshot transaction, allocation outside any transaction, and a short write
+     * transaction that first checks the snapshot's data versions are still current.
+     */
+    public Map<String, Object> generateSeatingArrangement(SeatingFilterDTO filter, GenerationProgress progress) throws Exception {
         try {
+            progress.phase(GenerationProgress.Phase.LOADING);
+
             if (filter.getDepartments() == null || filter.getDepartments().isEmpty() ||
                 filter.getClasses() == null || filter.getClasses().isEmpty() ||
                 filter.getSubjects() == null || filter.getSubjects().isEmpty()) {
                 throw new IllegalArgumentException("Please select departments, classes, and subjects");
             }
 
-            // Sort rooms by room ID (numeric order), this will make sure, how it was inserted, it will get by that order
-            List<Room> rooms = roomRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
-            log.info("Initial Rooms List {}",rooms);
-
-            if (rooms.isEmpty()) {
-                throw new IllegalArgumentException("No rooms available. Please add rooms first.");
-            }
-
-            // CRITICAL FIX: Reset BEFORE fetching students to ensure isAllocated=false
-            resetPreviousArrangement();
-
-            // Fetch students AFTER reset to get fresh data with isAllocated=false
-            List<Student> students = studentRepository.findByDepartmentsAndClassesAndSubjects(
-                    filter.getDepartments(), filter.getClasses(), filter.getSubjects());
-
-            if (students.isEmpty()) {
-                throw new IllegalArgumentException("No students found matching the selected criteria");
-            }
+            GenerationSnapshot snapshot = transaction(true).execute(status -> loadSnapshot(filter));
+            progress.totalStudents(snapshot.students.size());
 
-            List<SeatingArrangement> arrangements = allocateSeats(students, rooms, filter);
+            List<SeatingArrangement> arrangements = allocateSeats(snapshot, filter, progress);
 
             if (arrangements.isEmpty()) {
                 throw new Exception("Unable to generate seating arrangement. Please check room capacity.");
             }
 
-            arrangementRepository.saveAll(arrangements);
+            if (progress.isCancelled()) {
+                throw new AllocationCancelledException("Generation cancelled before saving");
+            }
+            progress.phase(GenerationProgress.Phase.SAVING);
+            ReportBundleDTO reports = buildReports(arrangements);
+            ArrangementRun newRun = ArrangementRun.builder()
+                    .name(filter.getArrangementName())
+                    .session(filter.getSession())
+                    .arrangementDate(LocalDate.now())
+                    .totalStudents(arrangements.size())
+                    .build();
+            // On a partitioned table the run's partition is created before, not inside, the write transaction
+            Long reservedRunId = partitionRepository.reserveRun();
+            ArrangementRun run;
+            try {
+                run = transaction(false).execute(status -> {
+                    if (!snapshot.dataVersions.equals(currentDataVersions())) {
+                        throw new OptimisticLockingFailureException(
+                                "Students or rooms changed while the arrangement was being generated. Please generate again.");
+                    }
+                    ArrangementRun saved;
+                    if (reservedRunId == null) {
+                        saved = runRepository.save(newRun);
+                    } else {
+                        partitionRepository.insertRun(reservedRunId, newRun);
+                        saved = runRepository.findById(reservedRunId).orElseThrow();
+                    }
+                    arrangements.forEach(a -> a.setRun(saved));
+                    arrangementBatchRepository.insertAll(arrangements);
+                    reports.setRunId(saved.getId());
+                    reportSnapshotService.save(saved, reports);
+                    return saved;
+                });
+            } catch (RuntimeException | Error e) {
+                if (reservedRunId != null) {
+                    partitionRepository.dropPartitions(List.of(reservedRunId));
+                }
+                throw e;
+            }
+            reportCache.put(run.getId(), reports);
 
             Map<String, Object> result = new HashMap<>();
+            result.put("runId", run.getId());
             result.put("totalStudents", arrangements.size());
             result.put("roomsUsed", arrangements.stream()
                     .map(a -> a.getRoom().getRoomNo())
                     .distinct()
                     .count());
-            result.put("arrangementDate", LocalDate.now());
+            result.put("arrangementDate", run.getArrangementDate());
             result.put("message", "Seating arrangement generated successfully");
 
             log.info("Generated seating arrangement for {} students across {} rooms",
@@ -83,811 +133,317 @@ public class SeatingArrangementService {
     }
 
     /**
-     * NEW ALLOCATION STRATEGY - ROOM-BY-ROOM POSITION-BY-POSITION WITH 2-SUBJECT-PER-BENCH
-     * Rules:
-     * 1) L and R have different subjects (R ≠ L) - unless no other subjects available
-     * 2) M is continuation of either L or R (M = R's subject OR M = L's subject)
-     * 3) Sequence is maintained (rooms in ID order, seats in bench order)
-     * 4) R, M, L of the room completed before moving to next room
-     * 5) Subject sequence continues from one room to the next
-     * 6) If one series (R or L) exhausts and no other subjects available, continue with the opposite series' subject
-     *
-     * Process:
-     * - Room 1: All R seats → All M seats → All L seats
-     * - Room 2: All R seats → All M seats → All L seats (subjects continue from Room 1)
-     * - Room 3: All R seats → All M seats → All L seats (subjects continue from Room 2)
+     * Read rooms, matching students and all seats, together with the data versions they were read at
      */
-    private List<SeatingArrangement> allocateSeats(List<Student> students, List<Room> rooms,
-                                                   SeatingFilterDTO filter) {
-        List<SeatingArrangement> arrangements = new ArrayList<>();
+    private GenerationSnapshot loadSnapshot(SeatingFilterDTO filter) {
+        List<DataVersionDTO> dataVersions = currentDataVersions();
 
-        if (rooms.isEmpty()) {
-            log.error("No rooms available");
-            return arrangements;
-        }
+        // Sort rooms by room ID (numeric order), this will make sure, how it was inserted, it will get by that order
+        boolean allRooms = filter.getRoomIds() == null || filter.getRoomIds().isEmpty();
+        List<Room> rooms = allRooms
+                ? roomRepository.findAll(Sort.by(Sort.Direction.ASC, "id"))
+                : roomRepository.findByIdInOrderByIdAsc(filter.getRoomIds());
+        log.info("Initial Rooms List {}",rooms);
 
-        // DEBUG: Log filter subjects
-        log.info("=== DEBUGGING SUBJECT MATCHING ===");
-        log.info("Filter subjects received ({}): {}", filter.getSubjects().size(), filter.getSubjects());
-
-        // DEBUG: Log actual subjects from students
-        Set<String> actualSubjectsInDB = new HashSet<>();
-        for (Student student : students) {
-            actualSubjectsInDB.addAll(student.getSubjects());
-        }
-        log.info("Actual subjects in student records ({}): {}", actualSubjectsInDB.size(), actualSubjectsInDB);
-
-        // Group students by subject
-        Map<String, List<Student>> studentsBySubject = groupStudentsBySubjectList(students, filter.getSubjects());
-
-        if (studentsBySubject.isEmpty()) {
-            log.error("No students found for the selected subjects");
-            log.error("This usually means the subject names in the request don't match the database exactly");
-            log.error("Filter subjects: {}", filter.getSubjects());
-            log.error("Actual subjects: {}", actualSubjectsInDB);
-            return arrangements;
-        }
-
-        // Log student counts per subject
-        log.info("Students found per subject:");
-        for (Map.Entry<String, List<Student>> entry : studentsBySubject.entrySet()) {
-            log.info("  {} -> {} students", entry.getKey(), entry.getValue().size());
-        }
-        log.info("=== END DEBUGGING ===");
-
-        // Get list of subjects ordered by student count (descending)
-        // DEBUG: Log counts before sorting
-        log.info("DEBUG: Student counts before sorting:");
-        for (Map.Entry<String, List<Student>> entry : studentsBySubject.entrySet()) {
-            log.info("  {} = {} students", entry.getKey(), countUnallocatedStudents(entry.getValue()));
-        }
-
-        List<String> orderedSubjects = studentsBySubject.entrySet().stream()
-                .sorted((e1, e2) -> {
-                    int count1 = countUnallocatedStudents(e1.getValue());
-                    int count2 = countUnallocatedStudents(e2.getValue());
-                    int result = Integer.compare(count2, count1);  // Descending order
-                    log.debug("Comparing {} ({}) vs {} ({}) = {}", e1.getKey(), count1, e2.getKey(), count2, result);
-                    return result;
-                })
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-
-        log.info("Subjects ordered by count (descending): {}", orderedSubjects);
-        log.info("DEBUG: Final order verification:");
-        for (String subject : orderedSubjects) {
-            log.info("  {} = {} students", subject, countUnallocatedStudents(studentsBySubject.get(subject)));
-        }
-
-        int numSubjects = orderedSubjects.size();
-        if (numSubjects < 2) {
-            log.error("At least 2 subjects required for R≠L constraint");
-            return arrangements;
+        if (rooms.isEmpty()) {
+            throw new IllegalArgumentException("No rooms available. Please add rooms first.");
         }
 
-        // Initialize subject trackers for R and L (will persist across rooms)
-        int rSubjectIndex = 0;
-        int lSubjectIndex = 1;
-
-        String rCurrentSubject = orderedSubjects.get(rSubjectIndex);
-        String lCurrentSubject = orderedSubjects.get(lSubjectIndex);
-
-        log.info("Starting allocation - R: {}, L: {}, M: will match R or L", rCurrentSubject, lCurrentSubject);
-
-        // Sort rooms by room ID (numeric order)
-        List<Room> sortedRooms = rooms.stream()
-                .sorted(Comparator.comparing(Room::getId))
-                .collect(Collectors.toList());
-
-        // Process each room in order
-        for (Room room : sortedRooms) {
-            log.info("=== Processing Room: {} ===", room.getRoomNo());
-
-            // Get all seats for this room
-            List<Seat> roomSeats = seatRepository.findAvailableSeatsByRoom(room.getId());
-
-            if (roomSeats.isEmpty()) {
-                log.warn("No seats in room {}", room.getRoomNo());
-                continue;
-            }
-
-            // Sort seats by bench number and position
-            roomSeats.sort(Comparator
-                    .comparing(Seat::getBenchNo)
-                    .thenComparing(Seat::getPosition));
-
-            // Separate seats by position
-            List<Seat> rSeats = roomSeats.stream()
-                    .filter(s -> "R".equals(s.getPosition()))
-                    .collect(Collectors.toList());
-            List<Seat> mSeats = roomSeats.stream()
-                    .filter(s -> "M".equals(s.getPosition()))
-                    .collect(Collectors.toList());
-            List<Seat> lSeats = roomSeats.stream()
-                    .filter(s -> "L".equals(s.getPosition()))
-                    .collect(Collectors.toList());
-
-            log.info("Room {} seats - R: {}, M: {}, L: {}", room.getRoomNo(), rSeats.size(), mSeats.size(), lSeats.size());
-
-            // PHASE 1 (PER ROOM): Allocate ALL R seats in this room
-            log.info("  Phase 1: Allocating R seats in room {}", room.getRoomNo());
-            for (Seat rSeat : rSeats) {
-                if (rSeat.getIsOccupied()) {
-                    continue;
-                }
-
-                Student rStudent = findNextUnallocatedStudent(studentsBySubject.get(rCurrentSubject));
-
-                // If current subject exhausted, switch to next
-                if (rStudent == null) {
-                    log.info("  R-position: Subject {} exhausted, switching to next", rCurrentSubject);
-                    boolean found = false;
-                    for (int i = 1; i <= numSubjects; i++) {
-                        int testIndex = (rSubjectIndex + i) % numSubjects;
-                        String testSubject = orderedSubjects.get(testIndex);
-
-                        // Skip L's current subject to maintain R≠L
-                        if (testSubject.equals(lCurrentSubject)) {
-                            continue;
-                        }
-
-                        rStudent = findNextUnallocatedStudent(studentsBySubject.get(testSubject));
-                        if (rStudent != null) {
-                            rSubjectIndex = testIndex;
-                            rCurrentSubject = testSubject;
-                            log.info("  R-position: Switched to subject {}", rCurrentSubject);
-                            found = true;
-                            break;
-                        }
-                    }
-                    // If no other subjects available, use L's subject as fallback
-                    if (!found) {
-                        rStudent = findNextUnallocatedStudent(studentsBySubject.get(lCurrentSubject));
-                        if (rStudent != null) {
-                            rSubjectIndex = lSubjectIndex;
-                            rCurrentSubject = lCurrentSubject;
-                            log.info("  R-position: No other subjects available, continuing with L's subject {}", rCurrentSubject);
-                            found = true;
-                        }
-                    }
-                    if (!found) {
-                        log.warn("  No more students available for R position");
-                        break;
-                    }
-                }
-
-                if (rStudent != null) {
-                    arrangements.add(createArrangement(rStudent, rSeat, rCurrentSubject, filter));
-                    rStudent.setIsAllocated(true);
-                    rSeat.setIsOccupied(true);
-                }
-            }
-
-            // PHASE 2 (PER ROOM): Allocate ALL M seats in this room
-            log.info("  Phase 2: Allocating M seats in room {} (R subject: {}, L subject: {})", room.getRoomNo(), rCurrentSubject, lCurrentSubject);
-
-            // DEBUG: Check student availability BEFORE Phase 2
-            log.info("  DEBUG Phase 2 START: R subject '{}' has {} unallocated, L subject '{}' has {} unallocated",
-                    rCurrentSubject, countUnallocatedStudents(studentsBySubject.get(rCurrentSubject)),
-                    lCurrentSubject, countUnallocatedStudents(studentsBySubject.get(lCurrentSubject)));
-
-            for (Seat mSeat : mSeats) {
-                if (mSeat.getIsOccupied()) {
-                    continue;
-                }
-
-                // Find corresponding R on same bench to get R's subject
-                Seat correspondingR = rSeats.stream()
-                        .filter(s -> s.getBenchNo().equals(mSeat.getBenchNo()))
-                        .findFirst()
-                        .orElse(null);
-
-                String benchRSubject = null;
-
-                if (correspondingR != null) {
-                    SeatingArrangement rArrangement = arrangements.stream()
-                            .filter(a -> a.getSeat().getId().equals(correspondingR.getId()))
-                            .findFirst()
-                            .orElse(null);
-                    if (rArrangement != null) {
-                        benchRSubject = rArrangement.getSubject();
-                    }
-                }
-
-                // M should match R's subject to maintain bench consistency
-                // CRITICAL: M must NOT use L's current subject pool to preserve students for Phase 3
-                String mSubject = null;
-                Student mStudent = null;
-
-                if (benchRSubject != null) {
-                    // Always match R's subject for this bench
-                    mSubject = benchRSubject;
-                    mStudent = findNextUnallocatedStudent(studentsBySubject.get(benchRSubject));
-
-                    if (mStudent != null) {
-                        log.debug("  M seat {}: Allocated student {} with subject {}", mSeat.getSeatNo(), mStudent.getRollNo(), mSubject);
-                    }
-
-                    // If R's subject is exhausted, try other subjects EXCEPT L's current subject
-                    if (mStudent == null) {
-                        log.info("  M seat {}: R's subject {} exhausted, looking for alternate (not L's subject {})",
-                                 mSeat.getSeatNo(), benchRSubject, lCurrentSubject);
-                        for (String subject : orderedSubjects) {
-                            // Skip R's subject (already tried) and L's subject (must preserve for Phase 3)
-                            if (subject.equals(benchRSubject) || subject.equals(lCurrentSubject)) {
-                                log.debug("    Skipping subject {} (R={}, L={})", subject, benchRSubject, lCurrentSubject);
-                                continue;
-                            }
-                            mStudent = findNextUnallocatedStudent(studentsBySubject.get(subject));
-                            if (mStudent != null) {
-                                mSubject = subject;
-                                log.info("  M seat {}: Using alternate subject {} (student {})", mSeat.getSeatNo(), subject, mStudent.getRollNo());
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                if (mStudent != null && mSubject != null) {
-                    arrangements.add(createArrangement(mStudent, mSeat, mSubject, filter));
-                    mStudent.setIsAllocated(true);
-                    mSeat.setIsOccupied(true);
-                } else {
-                    log.warn("  Could not allocate M seat - Bench: {}, R subject: {}, L subject (planned): {}",
-                             mSeat.getBenchNo(), benchRSubject, lCurrentSubject);
-                }
-            }
-
-            // DEBUG: Check student availability AFTER Phase 2
-            log.info("  DEBUG Phase 2 END: R subject '{}' has {} unallocated, L subject '{}' has {} unallocated",
-                    rCurrentSubject, countUnallocatedStudents(studentsBySubject.get(rCurrentSubject)),
-                    lCurrentSubject, countUnallocatedStudents(studentsBySubject.get(lCurrentSubject)));
-
-            // PHASE 3 (PER ROOM): Allocate ALL L seats in this room
-            log.info("  Phase 3: Allocating L seats in room {} (current L subject: {})", room.getRoomNo(), lCurrentSubject);
-
-            // DEBUG: Check how many students are available for L's subject
-            int lSubjectUnallocatedCount = countUnallocatedStudents(studentsBySubject.get(lCurrentSubject));
-            log.info("  DEBUG: Unallocated students in '{}': {}", lCurrentSubject, lSubjectUnallocatedCount);
+        // Allocation state lives in this run only; the isAllocated/isOccupied columns are not consulted or rewritten
+        List<Student> students = studentRepository.findByDepartmentsAndClassesAndSubjects(
+                filter.getDepartments(), filter.getClasses(), filter.getSubjects());
 
-            for (Seat lSeat : lSeats) {
-                if (lSeat.getIsOccupied()) {
-                    continue;
-                }
-
-                Student lStudent = findNextUnallocatedStudent(studentsBySubject.get(lCurrentSubject));
-
-                // DEBUG: Log if student was found
-                if (lStudent == null) {
-                    log.warn("  DEBUG: No student found for L seat {} (subject: {})", lSeat.getSeatNo(), lCurrentSubject);
-                } else {
-                    log.debug("  DEBUG: Found student {} for L seat {}", lStudent.getRollNo(), lSeat.getSeatNo());
-                }
-
-                // If current subject exhausted, switch to next
-                if (lStudent == null) {
-                    log.info("  L-position: Subject {} exhausted, switching to next", lCurrentSubject);
-                    boolean found = false;
-                    for (int i = 1; i <= numSubjects; i++) {
-                        int testIndex = (lSubjectIndex + i) % numSubjects;
-                        String testSubject = orderedSubjects.get(testIndex);
-
-                        // Skip R's current subject to maintain R≠L
-                        if (testSubject.equals(rCurrentSubject)) {
-                            continue;
-                        }
-
-                        lStudent = findNextUnallocatedStudent(studentsBySubject.get(testSubject));
-                        if (lStudent != null) {
-                            lSubjectIndex = testIndex;
-                            lCurrentSubject = testSubject;
-                            log.info("  L-position: Switched to subject {}", lCurrentSubject);
-                            found = true;
-                            break;
-                        }
-                    }
-                    // If no other subjects available, use R's subject as fallback
-                    if (!found) {
-                        lStudent = findNextUnallocatedStudent(studentsBySubject.get(rCurrentSubject));
-                        if (lStudent != null) {
-                            lSubjectIndex = rSubjectIndex;
-                            lCurrentSubject = rCurrentSubject;
-                            log.info("  L-position: No other subjects available, continuing with R's subject {}", lCurrentSubject);
-                            found = true;
-                        }
-                    }
-                    if (!found) {
-                        log.warn("  No more students available for L position");
-                        break;
-                    }
-                }
-
-                if (lStudent != null) {
-                    arrangements.add(createArrangement(lStudent, lSeat, lCurrentSubject, filter));
-                    lStudent.setIsAllocated(true);
-                    lSeat.setIsOccupied(true);
-                }
-            }
-
-            log.info("=== Completed Room: {} ===", room.getRoomNo());
+        if (students.isEmpty()) {
+            throw new IllegalArgumentException("No students found matching the selected criteria");
         }
 
-        // Log subject distribution
-        Map<String, Long> subjectCounts = arrangements.stream()
-                .collect(Collectors.groupingBy(SeatingArrangement::getSubject, Collectors.counting()));
-        log.info("Seating allocation complete: {} students allocated", arrangements.size());
-        log.info("Subject distribution: {}", subjectCounts);
-
-        int totalUnallocated = students.stream()
-                .mapToInt(s -> s.getIsAllocated() ? 0 : 1)
-                .sum();
-        if (totalUnallocated > 0) {
-            log.warn("Warning: {} students were not allocated (insufficient seats or subject constraints)", totalUnallocated);
-        }
+        // One ordered query for every room's seats (room ID, then bench)
+        List<Seat> seats = allRooms
+                ? seatRepository.findAllOrderedByRoomAndBench()
+                : seatRepository.findByRoomIdsOrderedByRoomAndBench(filter.getRoomIds());
 
-        return arrangements;
+        return new GenerationSnapshot(rooms, students, seats, dataVersions);
     }
 
-
     /**
-     * Group seats by position (R, M, L) and sort them by room and bench number
+     * Rooms a generation with this filter will use: the selected rooms that exist, or every room
      */
-    private Map<String, List<Seat>> groupSeatsByPosition(List<Seat> seats) {
-        Map<String, List<Seat>> seatsByPosition = new HashMap<>();
-        seatsByPosition.put("R", new ArrayList<>());
-        seatsByPosition.put("M", new ArrayList<>());
-        seatsByPosition.put("L", new ArrayList<>());
-
-        for (Seat seat : seats) {
-            String position = seat.getPosition();
-            if (seatsByPosition.containsKey(position)) {
-                seatsByPosition.get(position).add(seat);
-            }
-        }
-
-        // Sort each position's seats by room ID and bench number
-        Comparator<Seat> seatComparator = Comparator
-                .comparing((Seat s) -> s.getRoom().getId())
-                .thenComparing(Seat::getBenchNo);
+    @Transactional(readOnly = true)
+    public Set<Long> resolveRoomIds(SeatingFilterDTO filter) {
+        List<Long> roomIds = filter.getRoomIds() == null || filter.getRoomIds().isEmpty()
+                ? roomRepository.findAllIds()
+                : roomRepository.findByIdInOrderByIdAsc(filter.getRoomIds()).stream().map(Room::getId).toList();
+        return new TreeSet<>(roomIds);
+    }
 
-        seatsByPosition.values().forEach(list -> list.sort(seatComparator));
+    private List<DataVersionDTO> currentDataVersions() {
+        return List.of(studentRepository.findDataVersion(),
+                studentRepository.findSubjectDataVersion(),
+                roomRepository.findDataVersion(),
+                seatRepository.findDataVersion());
+    }
 
-        return seatsByPosition;
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
     }
 
     /**
-     * Group students by subject into lists
-     * Each student is assigned to their matching subject from the filter
+     * Encode the snapshot for the {@link SeatAllocator}, run it, and map the resulting plan
+     * back to {@link SeatingArrangement} rows. Rooms are processed in ID order and each room's seats
+     * in bench order; see {@link SeatAllocator} for the R/M/L rules.
      */
-    private Map<String, List<Student>> groupStudentsBySubjectList(List<Student> students, Set<String> filterSubjects) {
-        Map<String, List<Student>> studentsBySubject = new HashMap<>();
+    private List<SeatingArrangement> allocateSeats(GenerationSnapshot snapshot, SeatingFilterDTO filter,
+                                                   GenerationProgress progress) {
+        List<SeatingArrangement> arrangements = new ArrayList<>();
 
-        for (Student student : students) {
+        AllocationInput.Builder input = AllocationInput.builder();
+
+        // Each student is assigned to their first subject that matches the filter
+        List<Student> candidates = new ArrayList<>(snapshot.students.size());
+        for (Student student : snapshot.students) {
             for (String subject : student.getSubjects()) {
-                // Check if this subject is in the filter
-                if (filterSubjects.contains(subject)) {
-                    studentsBySubject.computeIfAbsent(subject, k -> new ArrayList<>()).add(student);
-                    break; // Each student is assigned to only one subject (first match)
+                if (filter.getSubjects().contains(subject)) {
+                    input.addStudent(subject);
+                    candidates.add(student);
+                    break;
                 }
             }
         }
 
-        return studentsBySubject;
-    }
-
-    /**
-     * Select the best subject for a position based on student count
-     * Excludes already selected subjects
-     */
-    private String selectSubjectForPosition(Map<String, List<Student>> studentsBySubject,
-                                           String excludeSubject1,
-                                           String excludeSubject2) {
-        String selectedSubject = null;
-        int maxCount = 0;
-
-        for (Map.Entry<String, List<Student>> entry : studentsBySubject.entrySet()) {
-            String subject = entry.getKey();
+        if (candidates.isEmpty()) {
+            log.error("No students found for the selected subjects");
+            log.error("This usually means the subject names in the request don't match the database exactly");
+            log.error("Filter subjects: {}", filter.getSubjects());
+            return arrangements;
+        }
 
-            if (subject.equals(excludeSubject1) || subject.equals(excludeSubject2)) {
+        // Seats arrive ordered by room ID, then bench; rooms are split off as the ID changes
+        Map<Long, Room> roomsById = snapshot.rooms.stream()
+                .collect(Collectors.toMap(Room::getId, room -> room));
+        List<Seat> seats = new ArrayList<>();
+        List<Room> seatRooms = new ArrayList<>();
+        Long currentRoomId = null;
+        for (Seat seat : snapshot.seats) {
+            Long roomId = seat.getRoom().getId();
+            Room room = roomsById.get(roomId);
+            if (room == null) {
                 continue;
             }
-
-            int unallocatedCount = countUnallocatedStudents(entry.getValue());
-
-            if (unallocatedCount > maxCount) {
-                maxCount = unallocatedCount;
-                selectedSubject = subject;
+            if (!roomId.equals(currentRoomId)) {
+                input.startRoom();
+                currentRoomId = roomId;
             }
+            input.addSeat(seat.getBenchNo(), seat.getPosition());
+            seats.add(seat);
+            seatRooms.add(room);
         }
 
-        return selectedSubject;
-    }
+        AllocationInput encoded = input.build();
+        log.info("Allocating {} students across {} subjects into {} seats in {} rooms",
+                encoded.studentCount(), encoded.subjectCount(), encoded.seatCount(), encoded.roomCount());
 
-    /**
-     * Allocate students from a subject to all seats in a position series
-     */
-    private List<SeatingArrangement> allocatePositionSeries(List<Seat> seats,
-                                                            List<Student> students,
-                                                            String subject,
-                                                            SeatingFilterDTO filter) {
-        List<SeatingArrangement> arrangements = new ArrayList<>();
-
-        int studentIndex = 0;
-        for (Seat seat : seats) {
-            // Find next unallocated student
-            while (studentIndex < students.size() && students.get(studentIndex).getIsAllocated()) {
-                studentIndex++;
-            }
-
-            if (studentIndex >= students.size()) {
-                log.warn("Not enough students in subject {} to fill all {} seats", subject, seat.getPosition());
-                break;
-            }
-
-            Student student = students.get(studentIndex);
-
-            // Create arrangement
-            SeatingArrangement arrangement = createArrangement(student, seat, subject, filter);
-            arrangements.add(arrangement);
+        progress.phase(GenerationProgress.Phase.ALLOCATING);
+        AllocationPlan plan = seatAllocator.allocate(encoded, progress);
 
-            // Mark as allocated
-            student.setIsAllocated(true);
-            seat.setIsOccupied(true);
-
-            studentIndex++;
+        for (int i = 0; i < plan.size(); i++) {
+            Student student = candidates.get(plan.studentAt(i));
+            int seatIndex = plan.seatAt(i);
+            arrangements.add(createArrangement(student, seats.get(seatIndex), seatRooms.get(seatIndex),
+                    encoded.subjectName(plan.subjectAt(i))));
         }
 
-        log.info("Allocated {} students to {}-series (subject: {})", arrangements.size(),
-                 seats.isEmpty() ? "?" : seats.get(0).getPosition(), subject);
-
         return arrangements;
     }
 
     /**
-     * Count unallocated students in a list
+     * Report views of freshly allocated arrangements, built from memory in the same row order
+     * as the report query so they match what {@link #getReportBundle} would return
      */
-    private int countUnallocatedStudents(List<Student> students) {
-        if (students == null) {
-            return 0;
-        }
-        return (int) students.stream().filter(s -> !s.getIsAllocated()).count();
+    private ReportBundleDTO buildReports(List<SeatingArrangement> arrangements) {
+        ReportAggregator aggregator = new ReportAggregator();
+        arrangements.stream()
+                .map(a -> new ArrangementRowDTO(a.getRoom().getId(), a.getRoom().getRoomNo(),
+                        a.getSeat().getSeatNo(), a.getSeat().getPosition(), a.getSeat().getBenchNo(),
+                        a.getStudent().getRollNo(), a.getStudent().getName(), a.getStudent().getDepartment(),
+                        a.getStudent().getClassName(), a.getSubject()))
+                .sorted(Comparator.comparing(ArrangementRowDTO::getRoomNo)
+                        .thenComparing(ArrangementRowDTO::getBenchNo)
+                        .thenComparing(ArrangementRowDTO::getPosition))
+                .forEach(aggregator);
+        return aggregator.build(null);
     }
 
     /**
-     * Find the next unallocated student from a list
+     * Detached entities and data versions read for one generation run
      */
-    private Student findNextUnallocatedStudent(List<Student> students) {
-        if (students == null) {
-            return null;
+    private static final class GenerationSnapshot {
+        private final List<Room> rooms;
+        private final List<Student> students;
+        private final List<Seat> seats;
+        private final List<DataVersionDTO> dataVersions;
+
+        GenerationSnapshot(List<Room> rooms, List<Student> students, List<Seat> seats,
+                           List<DataVersionDTO> dataVersions) {
+            this.rooms = rooms;
+            this.students = students;
+            this.seats = seats;
+            this.dataVersions = dataVersions;
         }
-        for (Student student : students) {
-            if (!student.getIsAllocated()) {
-                return student;
-            }
-        }
-        return null;
     }
 
-    private Map<Integer, List<Seat>> groupSeatsByBench(List<Seat> seats) {
-        Map<Integer, List<Seat>> seatsByBench = new HashMap<>();
-
-        for (Seat seat : seats) {
-            int benchKey = seat.getRoom().getId().intValue() * 10000 + seat.getBenchNo();
-            seatsByBench.computeIfAbsent(benchKey, k -> new ArrayList<>()).add(seat);
-        }
-
-        return seatsByBench;
+    private SeatingArrangement createArrangement(Student student, Seat seat, Room room, String subject) {
+        return SeatingArrangement.builder()
+                .student(student)
+                .room(room)
+                .seat(seat)
+                .subject(subject)
+                .build();
     }
 
-    private Map<String, Queue<Student>> groupStudentsBySubject(List<Student> students, Set<String> filterSubjects) {
-        Map<String, Queue<Student>> studentsBySubject = new HashMap<>();
-
-        for (Student student : students) {
-            for (String subject : student.getSubjects()) {
-                if (filterSubjects.contains(subject)) {
-                    studentsBySubject.computeIfAbsent(subject, k -> new LinkedList<>()).add(student);
-                    break;
-                }
-            }
-        }
-
-        return studentsBySubject;
+    /**
+     * All report views of a run. Served from the {@link ReportCache} without opening a
+     * transaction when cached; loaded from the database otherwise.
+     */
+    public ReportBundleDTO getReportBundle(Long runId) {
+        return reportCache.get(runId, id -> transaction(true).execute(status -> loadReportBundle(id)));
     }
 
     /**
-     * Find a student with better spacing - avoids subjects used on same bench
-     * and subjects recently used in the same position
+     * The run's snapshot stored at generation time, or for runs without one, a single
+     * {@link ReportAggregator} pass over one query
      */
-    private Student findStudentWithSpacing(Map<String, Queue<Student>> studentsBySubject,
-                                          Set<String> usedSubjects,
-                                          List<String> recentSubjects) {
-        // Phase 1: Try to find student whose subject is NOT on this bench AND NOT recently used in this position
-        for (Map.Entry<String, Queue<Student>> entry : studentsBySubject.entrySet()) {
-            String subject = entry.getKey();
-            Queue<Student> queue = entry.getValue();
-
-            if (!usedSubjects.contains(subject) && !recentSubjects.contains(subject)) {
-                for (Student student : queue) {
-                    if (!student.getIsAllocated()) {
-                        queue.remove(student);
-                        return student;
-                    }
-                }
-            }
+    private ReportBundleDTO loadReportBundle(Long runId) {
+        Optional<ReportBundleDTO> snapshot = reportSnapshotService.find(runId);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
         }
 
-        // Phase 2: Try to find student whose subject is at least NOT on this bench (ignore recent subjects)
-        for (Map.Entry<String, Queue<Student>> entry : studentsBySubject.entrySet()) {
-            String subject = entry.getKey();
-            Queue<Student> queue = entry.getValue();
-
-            if (!usedSubjects.contains(subject)) {
-                while (!queue.isEmpty()) {
-                    Student student = queue.poll();
-                    if (!student.getIsAllocated()) {
-                        return student;
-                    }
-                }
-            }
+        ReportAggregator aggregator = new ReportAggregator();
+        try (Stream<ArrangementRowDTO> rows = arrangementRepository.streamRowsByRun(runId)) {
+            rows.forEach(aggregator);
         }
+        return aggregator.build(runId);
+    }
 
-        // Phase 3: Fallback - return any available student
-        for (Queue<Student> queue : studentsBySubject.values()) {
-            while (!queue.isEmpty()) {
-                Student student = queue.poll();
-                if (!student.getIsAllocated()) {
-                    return student;
-                }
-            }
+    /**
+     * Report of a single room. Taken from the cached bundle when there is one, otherwise built
+     * from that room's rows only.
+     */
+    public Optional<RoomReportDTO> getRoomReport(Long runId, String roomNo) {
+        Optional<ReportBundleDTO> cached = reportCache.getIfPresent(runId);
+        if (cached.isPresent()) {
+            return cached.get().getRooms().stream()
+                    .filter(r -> r.getRoomNo().equals(roomNo))
+                    .findFirst();
         }
 
-        return null;
+        return transaction(true).execute(status -> roomRepository.findByRoomNo(roomNo)
+                .map(room -> aggregate(runId, arrangementRepository.findRowsByRunAndRoom(runId, room.getId())))
+                .flatMap(bundle -> bundle.getRooms().stream().findFirst()));
     }
 
-    private Student findStudentWithDifferentSubject(Map<String, Queue<Student>> studentsBySubject,
-                                                    Set<String> usedSubjects) {
-        for (Map.Entry<String, Queue<Student>> entry : studentsBySubject.entrySet()) {
-            String subject = entry.getKey();
-            Queue<Student> queue = entry.getValue();
-
-            if (!usedSubjects.contains(subject)) {
-                while (!queue.isEmpty()) {
-                    Student student = queue.poll();
-                    if (!student.getIsAllocated()) {
-                        return student;
-                    }
-                }
-            }
-        }
-
-        for (Queue<Student> queue : studentsBySubject.values()) {
-            while (!queue.isEmpty()) {
-                Student student = queue.poll();
-                if (!student.getIsAllocated()) {
-                    return student;
-                }
-            }
+    /**
+     * Junior supervisor report of one subject in one room, built from just those rows when the
+     * run's bundle is not cached
+     */
+    public Optional<JuniorSupervisorReportDTO> getJuniorSupervisorReport(Long runId, String roomNo, String subject) {
+        Optional<ReportBundleDTO> cached = reportCache.getIfPresent(runId);
+        if (cached.isPresent()) {
+            return cached.get().getJuniorSupervisor().stream()
+                    .filter(r -> r.getRoomNo().equals(roomNo) && r.getSubject().equals(subject))
+                    .findFirst();
         }
 
-        return null;
+        return transaction(true).execute(status -> roomRepository.findByRoomNo(roomNo)
+                .map(room -> aggregate(runId,
+                        arrangementRepository.findRowsByRunAndRoomAndSubject(runId, room.getId(), subject)))
+                .flatMap(bundle -> bundle.getJuniorSupervisor().stream().findFirst()));
     }
 
-    private String getStudentSubject(Student student, Set<String> filterSubjects) {
-        for (String subject : student.getSubjects()) {
-            if (filterSubjects.contains(subject)) {
-                return subject;
-            }
-        }
-        return student.getSubjects().iterator().next();
+    private ReportBundleDTO aggregate(Long runId, List<ArrangementRowDTO> rows) {
+        ReportAggregator aggregator = new ReportAggregator();
+        rows.forEach(aggregator);
+        return aggregator.build(runId);
     }
 
-    private SeatingArrangement createArrangement(Student student, Seat seat, String subject,
-                                                 SeatingFilterDTO filter) {
-        return SeatingArrangement.builder()
-                .student(student)
-                .room(seat.getRoom())
-                .seat(seat)
-                .subject(subject)
-                .arrangementDate(LocalDate.now())
-                .arrangementName(filter.getArrangementName())
-                .build();
+    public List<ConsolidatedReportDTO> getConsolidatedReport(Long runId) {
+        return getReportBundle(runId).getConsolidated();
     }
 
-    private void resetPreviousArrangement() {
-        studentRepository.resetAllAllocations();
-        seatRepository.resetAllOccupiedSeats();
+    public List<RoomReportDTO> getRoomReports(Long runId) {
+        return getReportBundle(runId).getRooms();
     }
 
-    @Transactional(readOnly = true)
-    public List<ConsolidatedReportDTO> getConsolidatedReport(LocalDate date) {
-        List<SeatingArrangement> arrangements = arrangementRepository.findByArrangementDateOrdered(date);
-
-        Map<String, Map<String, List<SeatingArrangement>>> groupedData = arrangements.stream()
-                .collect(Collectors.groupingBy(
-                        a -> a.getRoom().getRoomNo(),
-                        Collectors.groupingBy(a -> a.getStudent().getDepartment())
-                ));
-
-        List<ConsolidatedReportDTO> report = new ArrayList<>();
-
-        for (Map.Entry<String, Map<String, List<SeatingArrangement>>> roomEntry : groupedData.entrySet()) {
-            String roomNo = roomEntry.getKey();
-
-            for (Map.Entry<String, List<SeatingArrangement>> deptEntry : roomEntry.getValue().entrySet()) {
-                String department = deptEntry.getKey();
-                List<SeatingArrangement> deptArrangements = deptEntry.getValue();
-
-                // Sort by roll number to get first and last roll numbers
-                deptArrangements.sort(Comparator.comparing(a -> a.getStudent().getRollNo()));
-
-                String rollNoFrom = deptArrangements.get(0).getStudent().getRollNo();
-                String rollNoTo = deptArrangements.get(deptArrangements.size() - 1).getStudent().getRollNo();
-
-                // Get room ID from the first arrangement (all have same room)
-                Long roomId = deptArrangements.get(0).getRoom().getId();
-
-                ConsolidatedReportDTO dto = ConsolidatedReportDTO.builder()
-                        .roomId(roomId)
-                        .roomNo(roomNo)
-                        .department(department)
-                        .rollNoFrom(rollNoFrom)
-                        .rollNoTo(rollNoTo)
-                        .totalCount(deptArrangements.size())
-                        .build();
-
-                report.add(dto);
-            }
-        }
-
-        // Sort by room ID (numeric order) instead of room number (string order)
-        report.sort(Comparator.comparing(ConsolidatedReportDTO::getRoomId)
-                .thenComparing(ConsolidatedReportDTO::getDepartment));
-
-        return report;
+    public List<JuniorSupervisorReportDTO> getJuniorSupervisorReports(Long runId) {
+        return getReportBundle(runId).getJuniorSupervisor();
     }
 
     @Transactional(readOnly = true)
-    public List<RoomReportDTO> getRoomReports(LocalDate date) {
-        List<SeatingArrangement> arrangements = arrangementRepository.findByArrangementDateOrdered(date);
-
-        Map<String, List<SeatingArrangement>> byRoom = arrangements.stream()
-                .collect(Collectors.groupingBy(a -> a.getRoom().getRoomNo()));
-
-        List<RoomReportDTO> reports = new ArrayList<>();
-
-        for (Map.Entry<String, List<SeatingArrangement>> entry : byRoom.entrySet()) {
-            String roomNo = entry.getKey();
-            List<SeatingArrangement> roomArrangements = entry.getValue();
-
-            Set<String> departments = roomArrangements.stream()
-                    .map(a -> a.getStudent().getDepartment())
-                    .collect(Collectors.toSet());
-
-            Set<String> subjects = roomArrangements.stream()
-                    .map(SeatingArrangement::getSubject)
-                    .collect(Collectors.toSet());
-
-            List<SeatAllocationDTO> rightSeats = new ArrayList<>();
-            List<SeatAllocationDTO> middleSeats = new ArrayList<>();
-            List<SeatAllocationDTO> leftSeats = new ArrayList<>();
-
-            for (SeatingArrangement arr : roomArrangements) {
-                SeatAllocationDTO allocation = SeatAllocationDTO.builder()
-                        .seatNo(arr.getSeat().getSeatNo())
-                        .benchNo(arr.getSeat().getBenchNo())
-                        .rollNo(arr.getStudent().getRollNo())
-                        .studentName(arr.getStudent().getName())
-                        .department(arr.getStudent().getDepartment())
-                        .subject(arr.getSubject())
-                        .build();
-
-                switch (arr.getSeat().getPosition()) {
-                    case "R" -> rightSeats.add(allocation);
-                    case "M" -> middleSeats.add(allocation);
-                    case "L" -> leftSeats.add(allocation);
-                }
-            }
-
-            rightSeats.sort(Comparator.comparing(SeatAllocationDTO::getBenchNo));
-            middleSeats.sort(Comparator.comparing(SeatAllocationDTO::getBenchNo));
-            leftSeats.sort(Comparator.comparing(SeatAllocationDTO::getBenchNo));
-
-            // Get room ID from the first arrangement (all have same room)
-            Long roomId = roomArrangements.get(0).getRoom().getId();
-
-            RoomReportDTO report = RoomReportDTO.builder()
-                    .roomId(roomId)
-                    .roomNo(roomNo)
-                    .departments(departments)
-                    .subjects(subjects)
-                    .rightSeats(rightSeats)
-                    .middleSeats(middleSeats)
-                    .leftSeats(leftSeats)
-                    .build();
-
-            reports.add(report);
-        }
-
-        // Sort by room ID (numeric order) instead of room number (string order)
-        reports.sort(Comparator.comparing(RoomReportDTO::getRoomId));
-        return reports;
+    public List<ArrangementRunDTO> getAllRuns() {
+        return runRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::toRunDTO)
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Arrangement date of a run, or empty when there is no such run; a single-column lookup by id
+     */
     @Transactional(readOnly = true)
-    public List<LocalDate> getAllArrangementDates() {
-        return arrangementRepository.findAllArrangementDates();
+    public Optional<LocalDate> findRunDate(Long runId) {
+        return runRepository.findArrangementDateById(runId);
     }
 
     @Transactional(readOnly = true)
-    public List<JuniorSupervisorReportDTO> getJuniorSupervisorReports(LocalDate date) {
-        List<SeatingArrangement> arrangements = arrangementRepository.findByArrangementDateOrdered(date);
-
-        // Group by room -> subject
-        Map<String, Map<String, List<SeatingArrangement>>> groupedData = arrangements.stream()
-                .collect(Collectors.groupingBy(
-                        a -> a.getRoom().getRoomNo(),
-                        Collectors.groupingBy(SeatingArrangement::getSubject)
-                ));
-
-        List<JuniorSupervisorReportDTO> reports = new ArrayList<>();
-
-        for (Map.Entry<String, Map<String, List<SeatingArrangement>>> roomEntry : groupedData.entrySet()) {
-            String roomNo = roomEntry.getKey();
-
-            for (Map.Entry<String, List<SeatingArrangement>> subjectEntry : roomEntry.getValue().entrySet()) {
-                String subject = subjectEntry.getKey();
-                List<SeatingArrangement> subjectArrangements = subjectEntry.getValue();
-
-                // Sort by seat number for serial number assignment
-                subjectArrangements.sort(Comparator.comparing(a -> a.getSeat().getSeatNo()));
-
-                // Get department and class from first student (all should have same subject)
-                String department = subjectArrangements.get(0).getStudent().getDepartment();
-                String className = subjectArrangements.get(0).getStudent().getClassName();
-                Long roomId = subjectArrangements.get(0).getRoom().getId();
-
-                List<JuniorSupervisorReportDTO.StudentEntry> students = new ArrayList<>();
-                int srNo = 1;
-                for (SeatingArrangement arr : subjectArrangements) {
-                    students.add(JuniorSupervisorReportDTO.StudentEntry.builder()
-                            .srNo(srNo++)
-                            .seatNo(arr.getSeat().getSeatNo())
-                            .rollNo(arr.getStudent().getRollNo())
-                            .build());
-                }
-
-                JuniorSupervisorReportDTO dto = JuniorSupervisorReportDTO.builder()
-                        .roomId(roomId)
-                        .roomNo(roomNo)
-                        .department(department)
-                        .className(className)
-                        .subject(subject)
-                        .totalStudents(students.size())
-                        .students(students)
-                        .build();
-
-                reports.add(dto);
-            }
-        }
-
-        // Sort by room ID, then by subject
-        reports.sort(Comparator.comparing(JuniorSupervisorReportDTO::getRoomId)
-                .thenComparing(JuniorSupervisorReportDTO::getSubject));
+    public ArrangementRunDTO getRun(Long runId) {
+        return runRepository.findById(runId)
+                .map(this::toRunDTO)
+                .orElseThrow(() -> new IllegalArgumentException("Arrangement run not found: " + runId));
+    }
 
-        return reports;
+    private ArrangementRunDTO toRunDTO(ArrangementRun run) {
+        return ArrangementRunDTO.builder()
+                .id(run.getId())
+                .name(run.getName())
+                .session(run.getSession())
+                .arrangementDate(run.getArrangementDate())
+                .totalStudents(run.getTotalStudents())
+                .createdAt(run.getCreatedAt())
+                .build();
     }
 
-    @Transactional
-    public void deleteArrangement(LocalDate date) {
-        arrangementRepository.deleteByArrangementDate(date);
-        resetPreviousArrangement();
-        log.info("Deleted arrangement for date: {}", date);
+    /**
+     * Delete a run and its arrangements; on a partitioned table this drops the run's partition first,
+     * outside the transaction that deletes the run
+     */
+    public void deleteRun(Long runId) {
+        ArrangementRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Arrangement run not found: " + runId));
+        partitionRepository.dropPartitions(List.of(runId));
+        transaction(false).executeWithoutResult(status -> {
+            reportSnapshotService.delete(runId);
+            partitionRepository.deleteRunRows(runId);
+            runRepository.deleteById(runId);
+        });
+        reportCache.invalidate(runId);
+        pdfFileCache.purgeRun(runId);
+        log.info("Deleted arrangement run: {}", run);
     }
 
-    @Transactional
+    /**
+     * Delete every run with its arrangements. Must not be called inside a transaction when the table is
+     * partitioned, since the run partitions are dropped before the runs are deleted.
+     */
     public void deleteAllArrangements() {
-        arrangementRepository.deleteAll();
-        resetPreviousArrangement();
+        partitionRepository.dropPartitions(runRepository.findAll().stream().map(ArrangementRun::getId).toList());
+        transaction(false).executeWithoutResult(status -> {
+            reportSnapshotService.deleteAll();
+            arrangementRepository.deleteAllArrangements();
+            runRepository.deleteAllInBatch();
+        });
+        reportCache.invalidateAll();
+        pdfFileCache.purgeAll();
         log.info("Deleted all seating arrangements");
     }
 }
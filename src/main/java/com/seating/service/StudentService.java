@@ -1,14 +1,21 @@
 package com.seating.service;
 
+import com.seating.dto.ImportResultDTO;
+import com.seating.dto.IngestStatsDTO;
 import com.seating.dto.StudentDTO;
 import com.seating.entity.Student;
+import com.seating.repository.StudentBatchRepository;
 import com.seating.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,7 +31,11 @@ import java.util.HashMap;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final StudentBatchRepository studentBatchRepository;
     private final ExcelService excelService;
+    private final SeatingArrangementService seatingArrangementService;
+    private final IngestPipeline ingestPipeline;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
@@ -64,39 +75,29 @@ public class StudentService {
         return studentRepository.count();
     }
 
-    @Transactional
-    public void uploadStudents(MultipartFile file) throws Exception {
+    /**
+     * Import students from an Excel, CSV or NDJSON file in batches through the {@link IngestPipeline},
+     * so the file is parsed while earlier batches are written. Roll numbers of each batch are looked up
+     * in one query; new students and their subjects are inserted with JDBC batches. Existing students
+     * are skipped, or in upsert mode overwritten when the file differs from what is stored.
+     */
+    public ImportResultDTO uploadStudents(MultipartFile file, boolean upsert) throws Exception {
         try {
-            List<StudentDTO> studentDTOs = excelService.parseStudentExcel(file);
-
-            if (studentDTOs.isEmpty()) {
-                throw new IllegalArgumentException("No valid student data found in Excel file");
-            }
-
-            int savedCount = 0;
-            int skippedCount = 0;
-
-            for (StudentDTO dto : studentDTOs) {
-                if (studentRepository.existsByRollNo(dto.getRollNo())) {
-                    log.warn("Student with Roll No {} already exists, skipping", dto.getRollNo());
-                    skippedCount++;
-                    continue;
-                }
-
-                Student student = Student.builder()
-                        .rollNo(dto.getRollNo())
-                        .name(dto.getName())
-                        .department(dto.getDepartment())
-                        .className(dto.getClassName())
-                        .subjects(dto.getSubjects())
-                        .isAllocated(false)
-                        .build();
-
-                studentRepository.save(student);
-                savedCount++;
+            // Only the pipeline's writer thread touches the result until the pipeline returns
+            ImportResultDTO result = new ImportResultDTO();
+            IngestStatsDTO stats = ingestPipeline.<StudentDTO>run("Student upload",
+                    sink -> excelService.parseStudentExcel(file, sink),
+                    batch -> importBatch(batch, upsert, result));
+
+            if (stats.getRows() == 0) {
+                throw new IllegalArgumentException("No valid student data found in the uploaded file");
             }
+            result.setParsed(stats.getRows());
+            result.setStats(stats);
 
-            log.info("Student upload completed. Saved: {}, Skipped: {}", savedCount, skippedCount);
+            log.info("Student upload completed. Inserted: {}, Updated: {}, Skipped: {}",
+                    result.getInserted(), result.getUpdated(), result.getSkipped());
+            return result;
 
         } catch (Exception e) {
             log.error("Error uploading students: {}", e.getMessage(), e);
@@ -104,6 +105,50 @@ public class StudentService {
         }
     }
 
+    private void importBatch(List<StudentDTO> batch, boolean upsert, ImportResultDTO result) {
+        // A roll number repeated in the file: the first row wins on insert, the last row wins on upsert
+        Map<String, StudentDTO> byRollNo = new LinkedHashMap<>();
+        for (StudentDTO dto : batch) {
+            StudentDTO previous = upsert ? byRollNo.put(dto.getRollNo(), dto) : byRollNo.putIfAbsent(dto.getRollNo(), dto);
+            if (previous != null) {
+                log.warn("Roll No {} appears more than once in the file, keeping the {} row",
+                        dto.getRollNo(), upsert ? "last" : "first");
+                result.setSkipped(result.getSkipped() + 1);
+            }
+        }
+
+        List<StudentDTO> toInsert = new ArrayList<>();
+        List<StudentDTO> toUpdate = new ArrayList<>();
+        if (upsert) {
+            Map<String, StudentDTO> existing = studentBatchRepository.findByRollNos(byRollNo.keySet());
+            for (StudentDTO dto : byRollNo.values()) {
+                StudentDTO stored = existing.get(dto.getRollNo());
+                if (stored == null) {
+                    toInsert.add(dto);
+                } else if (!stored.equals(dto)) {
+                    toUpdate.add(dto);
+                } else {
+                    result.setSkipped(result.getSkipped() + 1);
+                }
+            }
+        } else {
+            Set<String> existing = studentBatchRepository.findExistingRollNos(byRollNo.keySet());
+            for (StudentDTO dto : byRollNo.values()) {
+                if (existing.contains(dto.getRollNo())) {
+                    log.debug("Student with Roll No {} already exists, skipping", dto.getRollNo());
+                    result.setSkipped(result.getSkipped() + 1);
+                } else {
+                    toInsert.add(dto);
+                }
+            }
+        }
+
+        studentBatchRepository.insertAll(toInsert);
+        studentBatchRepository.updateAll(toUpdate);
+        result.setInserted(result.getInserted() + toInsert.size());
+        result.setUpdated(result.getUpdated() + toUpdate.size());
+    }
+
     @Transactional(readOnly = true)
     public List<Student> getFilteredStudents(Set<String> departments, Set<String> classes, Set<String> subjects) {
         if (departments == null || departments.isEmpty() ||
@@ -121,9 +166,11 @@ public class StudentService {
         log.info("All student allocations have been reset");
     }
 
-    @Transactional
     public void deleteAllStudents() {
-        studentRepository.deleteAllStudents();
+        // Arrangement runs reference students, so they go first along with their snapshots and cached reports.
+        // They are deleted before, not inside, the students' transaction since run partitions cannot be dropped in one.
+        seatingArrangementService.deleteAllArrangements();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> studentRepository.deleteAllStudents());
         log.info("All students have been deleted");
     }
 }
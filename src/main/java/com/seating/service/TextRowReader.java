@@ -0,0 +1,247 @@
+package com.seating.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the rows of CSV and JSON uploads as lists of cell values, in the same
+ * shape as spreadsheet rows, so they go through the same row validation as Excel files.
+ *
+ * Both readers work from a channel with fixed-size buffers; the cell list handed to the handler
+ * is reused for the next row and is only valid during the call.
+ */
+@Component
+public class TextRowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Reads UTF-8 CSV (RFC 4180 quoting, comma separated). The first record is the header row and
+     * is skipped, and records are numbered like spreadsheet rows, the header being row 1.
+     */
+    public void readCsv(ReadableByteChannel channel, RowHandler handler) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        CsvTokenizer tokenizer = new CsvTokenizer(handler);
+
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = channel.read(bytes) < 0;
+            bytes.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, endOfInput);
+                tokenizer.feed(chars.flip());
+                chars.clear();
+                if (result.isError()) {
+                    throw new IOException("Row " + tokenizer.rowNo + ": file is not valid UTF-8");
+                }
+            } while (result.isOverflow());
+            bytes.compact();
+        }
+        decoder.flush(chars);
+        tokenizer.feed(chars.flip());
+        tokenizer.finish();
+    }
+
+    /**
+     * Reads JSON rows: either one object per line (NDJSON) or a single top-level array of objects.
+     * The object's fields are matched to the given columns by name, ignoring case and underscores
+     * (e.g. "rollNo", "roll_no"); unknown fields are ignored. The last column may hold an array whose
+     * elements become trailing cells (e.g. a student's subjects). Rows are numbered by the line the
+     * object starts on.
+     */
+    public void readJson(ReadableByteChannel channel, List<String> columns, RowHandler handler) throws IOException {
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndex.put(normalize(columns.get(i)), i);
+        }
+        int lastColumn = columns.size() - 1;
+        String[] values = new String[columns.size()];
+        List<String> trailing = new ArrayList<>();
+        List<String> cells = new ArrayList<>();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(Channels.newInputStream(channel))) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                int rowNo = parser.currentTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Line " + rowNo + ": expected a JSON object");
+                }
+
+                Arrays.fill(values, "");
+                trailing.clear();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Integer index = columnIndex.get(normalize(parser.currentName()));
+                    token = parser.nextToken();
+                    if (index == null) {
+                        parser.skipChildren();
+                    } else if (token == JsonToken.START_ARRAY) {
+                        if (index != lastColumn) {
+                            throw new IOException("Line " + rowNo + ": field " + columns.get(index) + " must not be an array");
+                        }
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            trailing.add(scalarText(parser));
+                        }
+                    } else {
+                        values[index] = scalarText(parser);
+                    }
+                }
+
+                cells.clear();
+                cells.addAll(Arrays.asList(values));
+                if (!trailing.isEmpty()) {
+                    cells.remove(lastColumn);
+                    cells.addAll(trailing);
+                }
+                if (cells.stream().anyMatch(cell -> !cell.isEmpty())) {
+                    handler.accept(rowNo, cells);
+                }
+                token = parser.nextToken();
+            }
+            if (array && parser.nextToken() != null) {
+                throw new IOException("Line " + parser.currentTokenLocation().getLineNr() +
+                        ": unexpected content after the JSON array");
+            }
+        }
+    }
+
+    private static String scalarText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return "";
+        }
+        return token == JsonToken.VALUE_NULL ? "" : parser.getText();
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Receives one data row: its row number and its cell values as text, empty for blank cells
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(int rowNo, List<String> cells);
+    }
+
+    /**
+     * Splits decoded characters into CSV records. Input may end anywhere, even inside a quoted field,
+     * and continues with the next chunk.
+     */
+    private static class CsvTokenizer {
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+        private int rowNo = 1;
+        private boolean atStart = true;
+        private boolean quoted;
+        private boolean fieldWasQuoted;
+        private boolean quotePending;
+
+        CsvTokenizer(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        void feed(CharBuffer chars) {
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (atStart) {
+                    atStart = false;
+                    if (c == '\uFEFF') {
+                        continue;
+                    }
+                }
+
+                if (quoted) {
+                    if (quotePending) {
+                        quotePending = false;
+                        if (c == '"') {
+                            field.append('"');
+                            continue;
+                        }
+                        // The pending quote closed the field; this character follows it
+                        quoted = false;
+                    } else {
+                        if (c == '"') {
+                            quotePending = true;
+                        } else {
+                            field.append(c);
+                        }
+                        continue;
+                    }
+                }
+
+                switch (c) {
+                    case '"' -> {
+                        if (field.isEmpty() && !fieldWasQuoted) {
+                            quoted = true;
+                            fieldWasQuoted = true;
+                        } else {
+                            field.append(c);
+                        }
+                    }
+                    case ',' -> endField();
+                    case '\n' -> endRecord();
+                    case '\r' -> { }
+                    default -> field.append(c);
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (quoted && !quotePending) {
+                throw new IOException("Row " + rowNo + ": quoted field is not closed");
+            }
+            if (!field.isEmpty() || fieldWasQuoted || !cells.isEmpty()) {
+                endRecord();
+            }
+        }
+
+        private void endField() {
+            cells.add(field.toString());
+            field.setLength(0);
+            quoted = false;
+            quotePending = false;
+            fieldWasQuoted = false;
+        }
+
+        private void endRecord() {
+            endField();
+            // Row 1 is the header
+            if (rowNo > 1 && cells.stream().anyMatch(cell -> !cell.isEmpty())) {
+                handler.accept(rowNo, cells);
+            }
+            cells.clear();
+            rowNo++;
+        }
+    }
+}
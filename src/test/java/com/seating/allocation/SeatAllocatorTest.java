@@ -0,0 +1,205 @@
+package com.seating.allocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatAllocatorTest {
+
+    private final SeatAllocator allocator = new SeatAllocator();
+
+    /**
+     * Plan of the allocation loop as it was before it moved out of SeatingArrangementService: R and M
+     * take A, L takes B; in the second room R skips L's subject and switches to C, and M gets nobody
+     * since C is used up and A and B are R's and L's subjects.
+     */
+    @Test
+    void matchesBaselinePlan() {
+        AllocationInput input = input(new int[]{2, 2}, "A", "A", "A", "A", "B", "B", "B", "C", "C");
+
+        AllocationPlan plan = allocator.allocate(input);
+
+        assertPlan(input, plan,
+                0, 0, "A",
+                3, 1, "A",
+                1, 2, "A",
+                4, 3, "A",
+                2, 4, "B",
+                5, 5, "B",
+                6, 7, "C",
+                9, 8, "C",
+                8, 6, "B");
+        assertEquals(0, plan.unallocatedStudents());
+    }
+
+    @Test
+    void lContinuesWithRSubjectWhenNoOtherSubjectIsLeft() {
+        AllocationInput input = input(new int[]{1, 1}, "X", "X", "X", "X", "X", "Y");
+
+        AllocationPlan plan = allocator.allocate(input);
+
+        assertPlan(input, plan,
+                0, 0, "X",
+                1, 1, "X",
+                2, 5, "Y",
+                3, 2, "X",
+                4, 3, "X",
+                5, 4, "X");
+    }
+
+    @Test
+    void keepsPlacementRulesOnEveryBench() {
+        List<String> subjects = new ArrayList<>();
+        Map<String, Integer> counts = Map.of("A", 40, "B", 35, "C", 20, "D", 10);
+        for (int i = 0; i < 40; i++) {
+            for (String subject : List.of("A", "B", "C", "D")) {
+                if (i < counts.get(subject)) {
+                    subjects.add(subject);
+                }
+            }
+        }
+        int[] benches = {12, 12, 12, 10};
+        AllocationInput input = input(benches, subjects.toArray(new String[0]));
+
+        AllocationPlan plan = allocator.allocate(input);
+
+        assertEquals(input.studentCount(), plan.size() + plan.unallocatedStudents());
+
+        Set<Integer> seats = new HashSet<>();
+        Set<Integer> students = new HashSet<>();
+        Map<String, Integer> benchSubject = new HashMap<>();
+        Map<Integer, Integer> placedBySubject = new HashMap<>();
+        int lastRoom = -1;
+        int lastPosition = -1;
+        for (int i = 0; i < plan.size(); i++) {
+            int seat = plan.seatAt(i);
+            int student = plan.studentAt(i);
+            int subject = plan.subjectAt(i);
+            assertTrue(seats.add(seat), "seat used twice");
+            assertTrue(students.add(student), "student placed twice");
+            assertEquals(input.studentSubject(student), subject);
+
+            // Rooms in order, and within a room all R seats, then M, then L
+            int room = roomOf(input, seat);
+            int position = input.seatPosition(seat);
+            assertTrue(room > lastRoom || (room == lastRoom && position >= lastPosition), "out of order at " + i);
+            lastRoom = room;
+            lastPosition = position;
+
+            String bench = room + "/" + input.seatBench(seat);
+            if (position == AllocationInput.POSITION_R) {
+                benchSubject.put(bench, subject);
+            } else if (position == AllocationInput.POSITION_M) {
+                int rSubject = benchSubject.get(bench);
+                // M continues R's subject until that subject has no students left
+                if (subject != rSubject) {
+                    assertEquals(studentsOf(input, rSubject), placedBySubject.getOrDefault(rSubject, 0),
+                            "M left R's subject on bench " + bench + " while it still had students");
+                }
+            } else {
+                Integer rSubject = benchSubject.get(bench);
+                assertNotEquals(rSubject, Integer.valueOf(subject), "R and L share a subject on bench " + bench);
+            }
+            placedBySubject.merge(subject, 1, Integer::sum);
+        }
+    }
+
+    @Test
+    void needsAtLeastTwoSubjects() {
+        AllocationInput input = input(new int[]{2}, "A", "A", "A");
+
+        AllocationPlan plan = allocator.allocate(input);
+
+        assertTrue(plan.isEmpty());
+        assertEquals(3, plan.unallocatedStudents());
+    }
+
+    @Test
+    void leavesStudentsUnallocatedWhenSeatsRunOut() {
+        AllocationInput input = input(new int[]{1}, "A", "A", "A", "B", "B", "B");
+
+        AllocationPlan plan = allocator.allocate(input);
+
+        assertEquals(3, plan.size());
+        assertEquals(3, plan.unallocatedStudents());
+    }
+
+    @Test
+    void stopsAtTheNextRoomWhenCancelled() {
+        AllocationInput input = input(new int[]{2, 2, 2}, "A", "A", "A", "A", "A", "A", "B", "B", "B", "B", "B", "B");
+        List<Integer> progress = new ArrayList<>();
+        AllocationMonitor monitor = new AllocationMonitor() {
+            @Override
+            public void seatsFilled(int seatsFilled) {
+                progress.add(seatsFilled);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return !progress.isEmpty();
+            }
+        };
+
+        assertThrows(AllocationCancelledException.class, () -> allocator.allocate(input, monitor));
+        assertEquals(List.of(6), progress);
+    }
+
+    /**
+     * Rooms with the given bench counts, each bench holding an R, M and L seat, and one student per listed subject
+     */
+    private static AllocationInput input(int[] benchesPerRoom, String... studentSubjects) {
+        AllocationInput.Builder builder = AllocationInput.builder();
+        for (String subject : studentSubjects) {
+            builder.addStudent(subject);
+        }
+        for (int benches : benchesPerRoom) {
+            builder.startRoom();
+            for (int bench = 1; bench <= benches; bench++) {
+                builder.addSeat(bench, "R");
+                builder.addSeat(bench, "M");
+                builder.addSeat(bench, "L");
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Expected assignments as (seat, student, subject) triples, in plan order
+     */
+    private static void assertPlan(AllocationInput input, AllocationPlan plan, Object... expected) {
+        List<String> actual = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            actual.add(plan.seatAt(i) + ":" + plan.studentAt(i) + ":" + input.subjectName(plan.subjectAt(i)));
+        }
+        List<String> wanted = new ArrayList<>();
+        for (int i = 0; i < expected.length; i += 3) {
+            wanted.add(expected[i] + ":" + expected[i + 1] + ":" + expected[i + 2]);
+        }
+        assertEquals(wanted, actual);
+    }
+
+    private static int roomOf(AllocationInput input, int seat) {
+        int room = 0;
+        while (input.roomStart(room + 1) <= seat) {
+            room++;
+        }
+        return room;
+    }
+
+    private static int studentsOf(AllocationInput input, int subject) {
+        int count = 0;
+        for (int student = 0; student < input.studentCount(); student++) {
+            if (input.studentSubject(student) == subject) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,161 @@
+package com.seating.service;
+
+import com.seating.dto.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportAggregatorTest {
+
+    @Test
+    void matchesBaselineReports() {
+        List<ArrangementRowDTO> rows = rows(new Random(42));
+
+        ReportAggregator aggregator = new ReportAggregator();
+        rows.forEach(aggregator);
+        ReportBundleDTO bundle = aggregator.build(7L);
+
+        assertEquals(7L, bundle.getRunId());
+        assertEquals(baselineConsolidated(rows), bundle.getConsolidated());
+        assertEquals(baselineRooms(rows), bundle.getRooms());
+        assertEquals(baselineJuniorSupervisor(rows), bundle.getJuniorSupervisor());
+    }
+
+    @Test
+    void buildsEmptyBundleWithoutRows() {
+        ReportBundleDTO bundle = new ReportAggregator().build(1L);
+
+        assertTrue(bundle.getConsolidated().isEmpty());
+        assertTrue(bundle.getRooms().isEmpty());
+        assertTrue(bundle.getJuniorSupervisor().isEmpty());
+    }
+
+    /**
+     * Rows of three rooms in room, bench, position order, with some seats left empty. Room ids and
+     * room numbers sort differently, so the reports must be ordered by id.
+     */
+    private static List<ArrangementRowDTO> rows(Random random) {
+        long[] roomIds = {1, 2, 10};
+        String[] roomNos = {"201", "1001", "31"};
+        String[] departments = {"CSE", "ECE", "MECH"};
+        String[] subjects = {"Mathematics", "Physics", "Chemistry", "Biology"};
+
+        List<ArrangementRowDTO> rows = new ArrayList<>();
+        int student = 0;
+        for (int room = 0; room < roomIds.length; room++) {
+            for (int bench = 1; bench <= 10; bench++) {
+                for (String position : List.of("R", "M", "L")) {
+                    if (random.nextInt(8) == 0) {
+                        continue;
+                    }
+                    int department = random.nextInt(departments.length);
+                    rows.add(ArrangementRowDTO.builder()
+                            .roomId(roomIds[room])
+                            .roomNo(roomNos[room])
+                            .seatNo(position + bench)
+                            .position(position)
+                            .benchNo(bench)
+                            .rollNo(departments[department].charAt(0) + String.valueOf(1000 + random.nextInt(9000)) + "-" + student++)
+                            .studentName("Student " + student)
+                            .department(departments[department])
+                            .className("BE-" + (department + 1))
+                            .subject(subjects[random.nextInt(subjects.length)])
+                            .build());
+                }
+            }
+        }
+        return rows;
+    }
+
+    // The report builders below are the per-report groupings the service used before ReportAggregator
+
+    private static List<ConsolidatedReportDTO> baselineConsolidated(List<ArrangementRowDTO> rows) {
+        Map<String, Map<String, List<ArrangementRowDTO>>> grouped = rows.stream()
+                .collect(Collectors.groupingBy(ArrangementRowDTO::getRoomNo,
+                        Collectors.groupingBy(ArrangementRowDTO::getDepartment)));
+
+        List<ConsolidatedReportDTO> report = new ArrayList<>();
+        grouped.forEach((roomNo, byDepartment) -> byDepartment.forEach((department, departmentRows) -> {
+            departmentRows.sort(Comparator.comparing(ArrangementRowDTO::getRollNo));
+            report.add(ConsolidatedReportDTO.builder()
+                    .roomId(departmentRows.get(0).getRoomId())
+                    .roomNo(roomNo)
+                    .department(department)
+                    .rollNoFrom(departmentRows.get(0).getRollNo())
+                    .rollNoTo(departmentRows.get(departmentRows.size() - 1).getRollNo())
+                    .totalCount(departmentRows.size())
+                    .build());
+        }));
+        report.sort(Comparator.comparing(ConsolidatedReportDTO::getRoomId)
+                .thenComparing(ConsolidatedReportDTO::getDepartment));
+        return report;
+    }
+
+    private static List<RoomReportDTO> baselineRooms(List<ArrangementRowDTO> rows) {
+        Map<String, List<ArrangementRowDTO>> byRoom = rows.stream()
+                .collect(Collectors.groupingBy(ArrangementRowDTO::getRoomNo));
+
+        List<RoomReportDTO> reports = new ArrayList<>();
+        byRoom.forEach((roomNo, roomRows) -> {
+            Map<String, List<SeatAllocationDTO>> byPosition = new HashMap<>();
+            for (ArrangementRowDTO row : roomRows) {
+                byPosition.computeIfAbsent(row.getPosition(), p -> new ArrayList<>()).add(SeatAllocationDTO.builder()
+                        .seatNo(row.getSeatNo())
+                        .benchNo(row.getBenchNo())
+                        .rollNo(row.getRollNo())
+                        .studentName(row.getStudentName())
+                        .department(row.getDepartment())
+                        .subject(row.getSubject())
+                        .build());
+            }
+            byPosition.values().forEach(seats -> seats.sort(Comparator.comparing(SeatAllocationDTO::getBenchNo)));
+
+            reports.add(RoomReportDTO.builder()
+                    .roomId(roomRows.get(0).getRoomId())
+                    .roomNo(roomNo)
+                    .departments(roomRows.stream().map(ArrangementRowDTO::getDepartment).collect(Collectors.toSet()))
+                    .subjects(roomRows.stream().map(ArrangementRowDTO::getSubject).collect(Collectors.toSet()))
+                    .rightSeats(byPosition.getOrDefault("R", new ArrayList<>()))
+                    .middleSeats(byPosition.getOrDefault("M", new ArrayList<>()))
+                    .leftSeats(byPosition.getOrDefault("L", new ArrayList<>()))
+                    .build());
+        });
+        reports.sort(Comparator.comparing(RoomReportDTO::getRoomId));
+        return reports;
+    }
+
+    private static List<JuniorSupervisorReportDTO> baselineJuniorSupervisor(List<ArrangementRowDTO> rows) {
+        Map<String, Map<String, List<ArrangementRowDTO>>> grouped = rows.stream()
+                .collect(Collectors.groupingBy(ArrangementRowDTO::getRoomNo,
+                        Collectors.groupingBy(ArrangementRowDTO::getSubject)));
+
+        List<JuniorSupervisorReportDTO> reports = new ArrayList<>();
+        grouped.forEach((roomNo, bySubject) -> bySubject.forEach((subject, subjectRows) -> {
+            subjectRows.sort(Comparator.comparing(ArrangementRowDTO::getSeatNo));
+            List<JuniorSupervisorReportDTO.StudentEntry> students = new ArrayList<>();
+            int srNo = 1;
+            for (ArrangementRowDTO row : subjectRows) {
+                students.add(JuniorSupervisorReportDTO.StudentEntry.builder()
+                        .srNo(srNo++)
+                        .seatNo(row.getSeatNo())
+                        .rollNo(row.getRollNo())
+                        .build());
+            }
+            reports.add(JuniorSupervisorReportDTO.builder()
+                    .roomId(subjectRows.get(0).getRoomId())
+                    .roomNo(roomNo)
+                    .department(subjectRows.get(0).getDepartment())
+                    .className(subjectRows.get(0).getClassName())
+                    .subject(subject)
+                    .totalStudents(students.size())
+                    .students(students)
+                    .build());
+        }));
+        reports.sort(Comparator.comparing(JuniorSupervisorReportDTO::getRoomId)
+                .thenComparing(JuniorSupervisorReportDTO::getSubject));
+        return reports;
+    }
+}